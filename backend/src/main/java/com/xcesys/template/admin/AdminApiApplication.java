@@ -5,12 +5,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Admin Template应用程序入口
  */
 @EnableAsync
 @EnableCaching
+@EnableScheduling
 @EnableJpaAuditing
 @SpringBootApplication
 public class AdminApiApplication {
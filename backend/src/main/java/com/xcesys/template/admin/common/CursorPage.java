@@ -0,0 +1,50 @@
+package com.xcesys.template.admin.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页结果
+ * 与Page不同，不执行偏移查询，总数仅在请求时统计
+ *
+ * @param <T> 数据类型
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  /**
+   * 当前页数据
+   */
+  private final List<T> records;
+
+  /**
+   * 下一页游标，没有更多数据时为null
+   */
+  private final String nextCursor;
+
+  /**
+   * 是否还有下一页
+   */
+  private final boolean hasNext;
+
+  /**
+   * 总记录数，未请求统计时为null
+   */
+  private final Long total;
+
+  /**
+   * 转换当前页数据，保留游标和总数
+   *
+   * @param converter 转换函数
+   * @param <R>       目标类型
+   * @return 转换后的游标分页结果
+   */
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+    List<R> converted = records.stream().<R>map(converter).toList();
+    return new CursorPage<>(converted, nextCursor, hasNext, total);
+  }
+}
@@ -0,0 +1,17 @@
+package com.xcesys.template.admin.common;
+
+/**
+ * 集群缓存失效总线
+ * 数据变更后由服务发布失效事件，其他节点收到后更新各自的本地缓存；
+ * 发起变更的节点已在事务提交后直接更新了本地缓存，不会重复处理自己发布的事件
+ */
+public interface InvalidationBus {
+
+  /**
+   * 在当前事务提交后发布缓存失效事件，没有活动事务时立即发布
+   *
+   * @param type 变更的数据类型
+   * @param id   变更的数据ID，为null时表示该类型的全部数据
+   */
+  void publish(InvalidationEvent.Type type, Long id);
+}
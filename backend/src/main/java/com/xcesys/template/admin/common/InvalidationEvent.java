@@ -0,0 +1,41 @@
+package com.xcesys.template.admin.common;
+
+/**
+ * 缓存失效事件
+ * 只携带变更的数据类型和ID，各节点据此从数据库重新加载对应条目，重复应用结果相同
+ *
+ * @param type 变更的数据类型
+ * @param id   变更的数据ID，为null时表示该类型的全部数据
+ */
+public record InvalidationEvent(Type type, Long id) {
+
+  /**
+   * 变更的数据类型
+   */
+  public enum Type {
+    /**
+     * 用户的角色、启用状态或所属部门
+     */
+    USER,
+    /**
+     * 角色及其权限
+     */
+    ROLE,
+    /**
+     * 权限
+     */
+    PERMISSION,
+    /**
+     * 部门层级，影响数据范围
+     */
+    DEPARTMENT,
+    /**
+     * 菜单或角色菜单关系
+     */
+    MENU,
+    /**
+     * 租户（公司）
+     */
+    TENANT
+  }
+}
@@ -0,0 +1,20 @@
+package com.xcesys.template.admin.common;
+
+/**
+ * 本地缓存失效监听器
+ * 由持有本地缓存的组件实现，接收其他节点发布的缓存失效事件
+ */
+public interface InvalidationListener {
+
+  /**
+   * 应用缓存失效事件，不关心的类型直接忽略；同一事件可能重复到达，实现需保证幂等
+   *
+   * @param event 缓存失效事件
+   */
+  void onInvalidation(InvalidationEvent event);
+
+  /**
+   * 全量重新加载，在检测到丢失事件时调用
+   */
+  void reloadAll();
+}
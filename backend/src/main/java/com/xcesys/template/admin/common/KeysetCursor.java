@@ -0,0 +1,126 @@
+package com.xcesys.template.admin.common;
+
+import com.xcesys.template.admin.exception.BusinessException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.util.StringUtils;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 键集（seek）分页工具
+ * 以最后一行的排序键和ID作为下一页的起点，不使用OFFSET，翻页开销与页码无关。
+ * 游标对客户端不透明，内容为Base64URL编码的排序键值
+ */
+public final class KeysetCursor {
+
+  /**
+   * 每页最大记录数
+   */
+  public static final int MAX_SIZE = 200;
+
+  private KeysetCursor() {
+  }
+
+  /**
+   * 按游标查询下一页
+   *
+   * @param executor   Specification查询接口
+   * @param entityType 实体类型，用于还原游标中排序键的类型
+   * @param spec       查询条件
+   * @param sort       排序，必须以唯一列（ID）结尾
+   * @param cursor     上一页返回的游标，为空时查询第一页
+   * @param size       每页大小
+   * @param withTotal  是否统计总数
+   * @param <T>        实体类型
+   * @return 游标分页结果
+   */
+  public static <T> CursorPage<T> scroll(JpaSpecificationExecutor<T> executor, Class<T> entityType,
+                                         Specification<T> spec, Sort sort, String cursor, int size,
+                                         boolean withTotal) {
+    int limit = Math.max(1, Math.min(size, MAX_SIZE));
+    ScrollPosition position = decode(cursor, entityType, sort);
+    Window<T> window = executor.findBy(spec, query -> query.sortBy(sort).limit(limit).scroll(position));
+
+    String nextCursor = null;
+    if (window.hasNext() && !window.isEmpty()) {
+      nextCursor = encode((KeysetScrollPosition) window.positionAt(window.size() - 1));
+    }
+    Long total = withTotal ? executor.count(spec) : null;
+    return new CursorPage<>(window.getContent(), nextCursor, window.hasNext(), total);
+  }
+
+  /**
+   * 将键集位置编码为游标
+   *
+   * @param position 键集位置
+   * @return 游标
+   */
+  static String encode(KeysetScrollPosition position) {
+    StringJoiner joiner = new StringJoiner("&");
+    position.getKeys().forEach((property, value) ->
+        joiner.add(property + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 将游标解码为键集位置，游标中的属性必须与排序属性一致
+   *
+   * @param cursor     游标
+   * @param entityType 实体类型
+   * @param sort       排序
+   * @return 键集位置
+   */
+  static ScrollPosition decode(String cursor, Class<?> entityType, Sort sort) {
+    if (!StringUtils.hasText(cursor)) {
+      return ScrollPosition.keyset();
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      Map<String, String> values = new HashMap<>();
+      for (String pair : decoded.split("&")) {
+        int index = pair.indexOf('=');
+        values.put(pair.substring(0, index), URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8));
+      }
+
+      Map<String, Object> keys = new LinkedHashMap<>();
+      for (Sort.Order order : sort) {
+        String value = values.get(order.getProperty());
+        if (value == null) {
+          throw BusinessException.validationError("无效的分页游标");
+        }
+        Class<?> propertyType = BeanUtils.findPropertyType(order.getProperty(), entityType);
+        keys.put(order.getProperty(), convert(value, propertyType));
+      }
+      if (keys.size() != values.size()) {
+        throw BusinessException.validationError("无效的分页游标");
+      }
+      return ScrollPosition.forward(keys);
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException | ConversionException e) {
+      throw BusinessException.validationError("无效的分页游标");
+    }
+  }
+
+  private static Object convert(String value, Class<?> type) {
+    if (LocalDateTime.class.equals(type)) {
+      return LocalDateTime.parse(value);
+    }
+    return DefaultConversionService.getSharedInstance().convert(value, type);
+  }
+}
@@ -0,0 +1,16 @@
+package com.xcesys.template.admin.common;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 单节点缓存失效总线，本地缓存已由发起变更的服务更新，无需发布事件
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache-invalidation.bus", havingValue = "local", matchIfMissing = true)
+public class LocalInvalidationBus implements InvalidationBus {
+
+  @Override
+  public void publish(InvalidationEvent.Type type, Long id) {
+  }
+}
@@ -0,0 +1,72 @@
+package com.xcesys.template.admin.common;
+
+import com.xcesys.template.admin.dto.MenuTreeNode;
+import com.xcesys.template.admin.entity.Menu;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 菜单树构建工具类
+ * 按父ID分组后一次遍历构建，时间复杂度O(n)（不含同级排序），不修改菜单实体
+ */
+public final class MenuTreeBuilder {
+
+  private static final Comparator<Menu> SORT_ORDER =
+      Comparator.comparing(Menu::getSort, Comparator.nullsLast(Comparator.naturalOrder()));
+
+  private MenuTreeBuilder() {
+  }
+
+  /**
+   * 构建菜单树，父ID为空的菜单作为根节点，无法到达根节点的菜单将被忽略
+   *
+   * @param menus 菜单列表
+   * @return 根节点列表
+   */
+  public static List<MenuTreeNode> build(Collection<Menu> menus) {
+    // 按父ID分组，每组只排序一次
+    Map<Long, List<Menu>> childrenByParent = new HashMap<>();
+    List<Menu> roots = new ArrayList<>();
+    for (Menu menu : menus) {
+      if (menu.getParentId() == null) {
+        roots.add(menu);
+      } else {
+        childrenByParent.computeIfAbsent(menu.getParentId(), k -> new ArrayList<>()).add(menu);
+      }
+    }
+    roots.sort(SORT_ORDER);
+    childrenByParent.values().forEach(children -> children.sort(SORT_ORDER));
+
+    // 广度优先确定访问顺序，再逆序构建节点，保证子节点先于父节点完成，避免深层递归
+    List<Menu> order = new ArrayList<>(menus.size());
+    order.addAll(roots);
+    for (int i = 0; i < order.size(); i++) {
+      List<Menu> children = childrenByParent.get(order.get(i).getId());
+      if (children != null) {
+        order.addAll(children);
+      }
+    }
+
+    Map<Long, MenuTreeNode> nodes = new HashMap<>(order.size() * 2);
+    for (int i = order.size() - 1; i >= 0; i--) {
+      Menu menu = order.get(i);
+      List<Menu> children = childrenByParent.getOrDefault(menu.getId(), List.of());
+      List<MenuTreeNode> childNodes = new ArrayList<>(children.size());
+      for (Menu child : children) {
+        childNodes.add(nodes.get(child.getId()));
+      }
+      nodes.put(menu.getId(), MenuTreeNode.of(menu, childNodes));
+    }
+
+    List<MenuTreeNode> tree = new ArrayList<>(roots.size());
+    for (Menu root : roots) {
+      tree.add(nodes.get(root.getId()));
+    }
+    return tree;
+  }
+}
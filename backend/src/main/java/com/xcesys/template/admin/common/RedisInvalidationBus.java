@@ -0,0 +1,169 @@
+package com.xcesys.template.admin.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 基于Redis发布订阅的缓存失效总线，适用于多节点部署
+ * 发布时以Lua脚本原子地递增全局版本号并发布“版本号|节点ID|类型|ID”，事件按版本号顺序到达各节点。
+ * 各节点记录已应用的版本号：重复的事件直接忽略，版本号不连续说明丢失了事件，改为全量重新加载；
+ * 另定期比较Redis中的版本号，发现最后几个事件未到达时同样全量重新加载
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.cache-invalidation.bus", havingValue = "redis")
+public class RedisInvalidationBus implements InvalidationBus, MessageListener {
+
+  private static final String VERSION_KEY = "cache:invalidation:version";
+  private static final String CHANNEL = "cache:invalidation";
+
+  /**
+   * 递增版本号并发布事件，二者在Redis中原子执行，保证发布顺序与版本号一致
+   */
+  private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>(
+      "local version = redis.call('INCR', KEYS[1]) "
+          + "redis.call('PUBLISH', ARGV[1], version .. '|' .. ARGV[2]) "
+          + "return version", Long.class);
+
+  /**
+   * 当前节点ID，用于跳过自己发布的事件
+   */
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private final StringRedisTemplate redisTemplate;
+  private final List<InvalidationListener> listeners;
+
+  /**
+   * 已应用的最新版本号，-1表示尚未与Redis同步
+   */
+  private long appliedVersion = -1;
+
+  /**
+   * 上一次检查时Redis中的版本号
+   */
+  private long observedVersion = -1;
+
+  public RedisInvalidationBus(StringRedisTemplate redisTemplate, List<InvalidationListener> listeners,
+                              RedisMessageListenerContainer listenerContainer) {
+    this.redisTemplate = redisTemplate;
+    this.listeners = listeners;
+    listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+  }
+
+  @Override
+  public void publish(InvalidationEvent.Type type, Long id) {
+    String payload = nodeId + "|" + type.name() + "|" + (id != null ? id : "");
+    TransactionHooks.afterCommit(() -> {
+      try {
+        redisTemplate.execute(PUBLISH_SCRIPT, List.of(VERSION_KEY), CHANNEL, payload);
+      } catch (DataAccessException e) {
+        log.warn("发布缓存失效事件失败 {}: {}", payload, e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * 接收缓存失效事件
+   */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+    if (parts.length < 4) {
+      log.warn("忽略无法解析的缓存失效事件");
+      return;
+    }
+    long version = Long.parseLong(parts[0]);
+    InvalidationEvent event = nodeId.equals(parts[1])
+        ? null
+        : new InvalidationEvent(InvalidationEvent.Type.valueOf(parts[2]),
+            parts[3].isEmpty() ? null : Long.valueOf(parts[3]));
+    apply(version, event);
+  }
+
+  /**
+   * 启动时与Redis同步版本号（本地缓存刚完成全量加载），之后定期检查是否有未到达的事件
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${app.cache-invalidation.check-interval:30000}",
+      initialDelayString = "${app.cache-invalidation.check-interval:30000}")
+  public void checkVersion() {
+    long current;
+    try {
+      String value = redisTemplate.opsForValue().get(VERSION_KEY);
+      current = value != null ? Long.parseLong(value) : 0;
+    } catch (DataAccessException e) {
+      log.warn("读取缓存失效版本号失败: {}", e.getMessage());
+      return;
+    }
+    synchronized (this) {
+      if (appliedVersion < 0) {
+        appliedVersion = current;
+      } else if (observedVersion > appliedVersion) {
+        // 上次检查时已发布的事件经过一个检查周期仍未到达，视为丢失
+        log.warn("缓存失效事件丢失（已应用版本{}，当前版本{}），全量重新加载", appliedVersion, current);
+        reloadAll();
+        appliedVersion = current;
+      }
+      observedVersion = current;
+    }
+  }
+
+  /**
+   * 按版本号应用事件
+   *
+   * @param version 事件版本号
+   * @param event   其他节点发布的事件，当前节点发布的事件为null
+   */
+  private synchronized void apply(long version, InvalidationEvent event) {
+    if (version <= appliedVersion) {
+      return;
+    }
+    if (appliedVersion >= 0 && version > appliedVersion + 1) {
+      // 版本号不连续，中间的事件已丢失；较早的变更都已提交，全量加载即可覆盖
+      log.warn("缓存失效事件版本不连续（已应用版本{}，收到版本{}），全量重新加载", appliedVersion, version);
+      reloadAll();
+    } else if (event != null) {
+      dispatch(event);
+    }
+    appliedVersion = version;
+  }
+
+  private void dispatch(InvalidationEvent event) {
+    for (InvalidationListener listener : listeners) {
+      try {
+        listener.onInvalidation(event);
+      } catch (RuntimeException e) {
+        log.error("应用缓存失效事件失败 {}，改为全量重新加载", event, e);
+        reload(listener);
+      }
+    }
+  }
+
+  private void reloadAll() {
+    listeners.forEach(this::reload);
+  }
+
+  private void reload(InvalidationListener listener) {
+    try {
+      listener.reloadAll();
+    } catch (RuntimeException e) {
+      log.error("全量重新加载缓存失败: {}", listener.getClass().getSimpleName(), e);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.xcesys.template.admin.common;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务回调工具类
+ */
+public final class TransactionHooks {
+
+  private TransactionHooks() {
+  }
+
+  /**
+   * 在当前事务提交后执行操作，没有活动事务时立即执行
+   *
+   * @param action 待执行的操作
+   */
+  public static void afterCommit(Runnable action) {
+    afterCommit(Ordered.LOWEST_PRECEDENCE, action);
+  }
+
+  /**
+   * 在当前事务提交后按指定顺序执行操作，顺序值小的先执行，没有活动事务时立即执行
+   *
+   * @param order  执行顺序
+   * @param action 待执行的操作
+   */
+  public static void afterCommit(int order, Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+
+        @Override
+        public int getOrder() {
+          return order;
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
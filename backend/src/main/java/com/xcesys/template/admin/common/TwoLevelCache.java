@@ -0,0 +1,184 @@
+package com.xcesys.template.admin.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 二级缓存：本节点Caffeine缓存为一级，Redis为可选的二级（各节点共享）
+ * 读取时依次查询一级和二级缓存，二级命中时回填一级缓存；空值只缓存在一级缓存中。
+ * 失效操作在事务提交后执行（没有事务时立即执行），并先于缓存失效事件的发布，
+ * 保证其他节点收到事件清空一级缓存时，二级缓存中已经没有旧值
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+  private final String name;
+  private final Cache<Object, Object> local;
+  private final org.springframework.cache.Cache remote;
+
+  private final LongAdder remoteHits = new LongAdder();
+  private final LongAdder remoteMisses = new LongAdder();
+
+  /**
+   * @param name   缓存名称
+   * @param local  一级缓存
+   * @param remote 二级缓存，为null时只使用一级缓存
+   */
+  public TwoLevelCache(String name, Cache<Object, Object> local, org.springframework.cache.Cache remote) {
+    super(true);
+    this.name = name;
+    this.local = local;
+    this.remote = remote;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return local;
+  }
+
+  @Override
+  protected Object lookup(Object key) {
+    Object value = local.getIfPresent(key);
+    if (value == null) {
+      value = lookupRemote(key);
+      if (value != null) {
+        local.put(key, value);
+      }
+    }
+    return value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    return (T) fromStoreValue(local.get(key, k -> {
+      Object value = lookupRemote(k);
+      if (value != null) {
+        return value;
+      }
+      try {
+        T loaded = valueLoader.call();
+        putRemote(k, loaded);
+        return toStoreValue(loaded);
+      } catch (Exception e) {
+        throw new ValueRetrievalException(k, valueLoader, e);
+      }
+    }));
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    putRemote(key, value);
+    local.put(key, toStoreValue(value));
+  }
+
+  @Override
+  public void evict(Object key) {
+    TransactionHooks.afterCommit(Ordered.HIGHEST_PRECEDENCE, () -> {
+      if (remote != null) {
+        try {
+          remote.evict(key);
+        } catch (DataAccessException e) {
+          log.warn("移除二级缓存{}失败: {}", name, e.getMessage());
+        }
+      }
+      local.invalidate(key);
+    });
+  }
+
+  @Override
+  public void clear() {
+    TransactionHooks.afterCommit(Ordered.HIGHEST_PRECEDENCE, () -> {
+      if (remote != null) {
+        try {
+          remote.clear();
+        } catch (DataAccessException e) {
+          log.warn("清空二级缓存{}失败: {}", name, e.getMessage());
+        }
+      }
+      local.invalidateAll();
+    });
+  }
+
+  /**
+   * 只清空本节点的一级缓存，用于响应其他节点发布的缓存失效事件
+   */
+  public void clearLocal() {
+    local.invalidateAll();
+  }
+
+  /**
+   * 获取一级缓存
+   */
+  public Cache<Object, Object> getLocal() {
+    return local;
+  }
+
+  /**
+   * 是否启用了二级缓存
+   */
+  public boolean hasRemote() {
+    return remote != null;
+  }
+
+  public long getRemoteHitCount() {
+    return remoteHits.sum();
+  }
+
+  public long getRemoteMissCount() {
+    return remoteMisses.sum();
+  }
+
+  /**
+   * 查询二级缓存，Redis不可用时视为未命中
+   *
+   * @param key 缓存键
+   * @return 一级缓存格式的值，未命中时返回null
+   */
+  private Object lookupRemote(Object key) {
+    if (remote == null) {
+      return null;
+    }
+    try {
+      ValueWrapper wrapper = remote.get(key);
+      if (wrapper == null) {
+        remoteMisses.increment();
+        return null;
+      }
+      remoteHits.increment();
+      return toStoreValue(wrapper.get());
+    } catch (DataAccessException | SerializationException e) {
+      log.warn("读取二级缓存{}失败: {}", name, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * 写入二级缓存，空值不写入
+   *
+   * @param key   缓存键
+   * @param value 缓存值
+   */
+  private void putRemote(Object key, Object value) {
+    if (remote == null || value == null) {
+      return;
+    }
+    try {
+      remote.put(key, value);
+    } catch (DataAccessException | SerializationException e) {
+      log.warn("写入二级缓存{}失败: {}", name, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.xcesys.template.admin.common;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 二级缓存管理器
+ * 管理一组预先声明的二级缓存，并在其他节点发布缓存失效事件时清空对应缓存的一级缓存
+ */
+public class TwoLevelCacheManager implements CacheManager, InvalidationListener {
+
+  private final Map<String, TwoLevelCache> caches = new LinkedHashMap<>();
+  private final Map<InvalidationEvent.Type, Set<String>> invalidations = new EnumMap<>(InvalidationEvent.Type.class);
+
+  /**
+   * 注册缓存
+   *
+   * @param cache         缓存
+   * @param invalidatedBy 使该缓存失效的数据类型
+   */
+  public void addCache(TwoLevelCache cache, InvalidationEvent.Type... invalidatedBy) {
+    caches.put(cache.getName(), cache);
+    for (InvalidationEvent.Type type : invalidatedBy) {
+      invalidations.computeIfAbsent(type, t -> new HashSet<>()).add(cache.getName());
+    }
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    return caches.get(name);
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return Collections.unmodifiableSet(caches.keySet());
+  }
+
+  /**
+   * 获取全部缓存，用于统计
+   *
+   * @return 缓存列表
+   */
+  public Collection<TwoLevelCache> getCaches() {
+    return Collections.unmodifiableCollection(caches.values());
+  }
+
+  /**
+   * 其他节点的数据变更后清空对应缓存的一级缓存，二级缓存已由发起变更的节点清理
+   *
+   * @param event 缓存失效事件
+   */
+  @Override
+  public void onInvalidation(InvalidationEvent event) {
+    invalidations.getOrDefault(event.type(), Set.of()).forEach(name -> caches.get(name).clearLocal());
+  }
+
+  @Override
+  public void reloadAll() {
+    caches.values().forEach(TwoLevelCache::clearLocal);
+  }
+}
@@ -0,0 +1,70 @@
+package com.xcesys.template.admin.common;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * 二级缓存的指标
+ * 标准缓存指标反映一级缓存，启用二级缓存时另外发布cache.remote.gets记录Redis的命中与未命中
+ */
+public class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+  public TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+    super(cache, cache.getName(), tags);
+  }
+
+  @Override
+  protected Long size() {
+    TwoLevelCache cache = getCache();
+    return cache != null ? cache.getLocal().estimatedSize() : null;
+  }
+
+  @Override
+  protected long hitCount() {
+    CacheStats stats = stats();
+    return stats != null ? stats.hitCount() : 0L;
+  }
+
+  @Override
+  protected Long missCount() {
+    CacheStats stats = stats();
+    return stats != null ? stats.missCount() : null;
+  }
+
+  @Override
+  protected Long evictionCount() {
+    CacheStats stats = stats();
+    return stats != null ? stats.evictionCount() : null;
+  }
+
+  @Override
+  protected long putCount() {
+    CacheStats stats = stats();
+    return stats != null ? stats.loadCount() : 0L;
+  }
+
+  @Override
+  protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    TwoLevelCache cache = getCache();
+    if (cache == null || !cache.hasRemote()) {
+      return;
+    }
+    FunctionCounter.builder("cache.remote.gets", cache, TwoLevelCache::getRemoteHitCount)
+        .tags(Tags.of(getTagsWithCacheName()).and("result", "hit"))
+        .description("The number of times the Redis second level returned a cached value")
+        .register(registry);
+    FunctionCounter.builder("cache.remote.gets", cache, TwoLevelCache::getRemoteMissCount)
+        .tags(Tags.of(getTagsWithCacheName()).and("result", "miss"))
+        .description("The number of times the Redis second level had no cached value")
+        .register(registry);
+  }
+
+  private CacheStats stats() {
+    TwoLevelCache cache = getCache();
+    return cache != null ? cache.getLocal().stats() : null;
+  }
+}
@@ -0,0 +1,92 @@
+package com.xcesys.template.admin.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.SmileRedisSerializer;
+import com.xcesys.template.admin.common.TwoLevelCache;
+import com.xcesys.template.admin.common.TwoLevelCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+
+/**
+ * 缓存配置类
+ * 各缓存的一级缓存规格通过app.cache.specs.缓存名称以Caffeine规格串配置，二级缓存默认关闭
+ */
+@Configuration
+public class CacheConfig {
+
+  /**
+   * 全部角色
+   */
+  public static final String ROLES = "roles";
+
+  /**
+   * 按类型查询权限
+   */
+  public static final String PERMISSIONS_BY_TYPE = "permissionsByType";
+
+  /**
+   * 完整菜单树
+   */
+  public static final String MENU_TREE = "menuTree";
+
+  private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+  @Value("${app.cache.redis.enabled:false}")
+  private boolean redisEnabled;
+
+  @Value("${app.cache.redis.ttl:1800}")
+  private long redisTtl;
+
+  /**
+   * 二级缓存管理器
+   */
+  @Bean
+  public TwoLevelCacheManager cacheManager(Environment environment,
+                                           ObjectProvider<RedisConnectionFactory> connectionFactory) {
+    RedisCacheManager redisCacheManager = redisEnabled ? redisCacheManager(connectionFactory.getObject()) : null;
+
+    TwoLevelCacheManager cacheManager = new TwoLevelCacheManager();
+    cacheManager.addCache(cache(ROLES, environment, redisCacheManager), InvalidationEvent.Type.ROLE);
+    cacheManager.addCache(cache(PERMISSIONS_BY_TYPE, environment, redisCacheManager),
+        InvalidationEvent.Type.PERMISSION);
+    // 菜单树节点是不可变对象，无法从二级缓存还原；整树只需一次查询即可重建，只使用一级缓存
+    cacheManager.addCache(cache(MENU_TREE, environment, null), InvalidationEvent.Type.MENU);
+    return cacheManager;
+  }
+
+  private TwoLevelCache cache(String name, Environment environment, RedisCacheManager redisCacheManager) {
+    String spec = environment.getProperty("app.cache.specs." + name, DEFAULT_SPEC);
+    return new TwoLevelCache(name, Caffeine.from(spec).recordStats().build(),
+        redisCacheManager != null ? redisCacheManager.getCache(name) : null);
+  }
+
+  /**
+   * Redis二级缓存：Smile二进制序列化，不缓存空值，按缓存清空时以SCAN代替KEYS
+   */
+  private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+        .entryTtl(Duration.ofSeconds(redisTtl))
+        .disableCachingNullValues()
+        .prefixCacheNameWith("cache:")
+        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new SmileRedisSerializer()));
+    RedisCacheManager redisCacheManager = RedisCacheManager
+        .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
+        .cacheDefaults(configuration)
+        .enableStatistics()
+        .build();
+    redisCacheManager.afterPropertiesSet();
+    return redisCacheManager;
+  }
+}
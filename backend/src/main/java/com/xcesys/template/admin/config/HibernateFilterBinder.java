@@ -0,0 +1,102 @@
+package com.xcesys.template.admin.config;
+
+import com.xcesys.template.admin.security.DataScopeFilter;
+import com.xcesys.template.admin.security.TenantAware;
+import com.xcesys.template.admin.security.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate过滤条件绑定器
+ * 在每个EntityManager创建时根据当前线程的租户ID启用租户过滤条件，
+ * 并根据认证对象中已编译的数据范围启用数据范围过滤条件；
+ * 事务内创建的EntityManager和未声明事务的查询临时创建的EntityManager都会经过此处
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateFilterBinder {
+
+  /**
+   * Hibernate租户过滤器名称
+   */
+  public static final String TENANT_FILTER = "tenantFilter";
+
+  private final TenantAware tenantAware;
+  private final EntityManager entityManager;
+
+  /**
+   * 为新建的EntityManager绑定租户和数据范围过滤条件
+   *
+   * @param entityManager 新建的EntityManager
+   */
+  public void bind(EntityManager entityManager) {
+    Session session = entityManager.unwrap(Session.class);
+    Long tenantId = tenantAware.getCurrentTenantId();
+    if (tenantId != null) {
+      session.enableFilter(TENANT_FILTER).setParameter("tenantId", tenantId);
+    }
+    enableDataScope(session);
+  }
+
+  /**
+   * 在关闭数据范围过滤条件的当前事务Session中执行操作，执行完成后恢复过滤条件；
+   * 用于用户名、邮箱等唯一性校验，这类校验必须看到本租户内数据范围以外的数据，租户过滤条件保持不变
+   *
+   * @param action 要执行的查询
+   * @return 查询结果
+   */
+  @Transactional(readOnly = true)
+  public <T> T withoutDataScope(Supplier<T> action) {
+    Session session = entityManager.unwrap(Session.class);
+    if (session.getEnabledFilter(DataScopeFilter.USER_FILTER) == null
+        && session.getEnabledFilter(DataScopeFilter.DEPT_FILTER) == null) {
+      return action.get();
+    }
+    session.disableFilter(DataScopeFilter.USER_FILTER);
+    session.disableFilter(DataScopeFilter.DEPT_FILTER);
+    try {
+      return action.get();
+    } finally {
+      enableDataScope(session);
+    }
+  }
+
+  /**
+   * 根据当前认证用户的数据范围启用数据范围过滤条件
+   *
+   * @param session Hibernate Session
+   */
+  private void enableDataScope(Session session) {
+    DataScopeFilter dataScope = currentDataScope();
+    if (dataScope != null && !dataScope.unrestricted()) {
+      // 空集合无法生成合法的IN条件，使用不存在的ID占位
+      Collection<Long> deptIds = dataScope.deptIds().isEmpty() ? List.of(-1L) : dataScope.deptIds();
+      session.enableFilter(DataScopeFilter.USER_FILTER)
+          .setParameterList("deptIds", deptIds)
+          .setParameter("userId", dataScope.userId());
+      session.enableFilter(DataScopeFilter.DEPT_FILTER).setParameterList("deptIds", deptIds);
+    }
+  }
+
+  /**
+   * 获取当前认证用户的数据范围
+   *
+   * @return 数据范围，未认证或未编译时返回null
+   */
+  private DataScopeFilter currentDataScope() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+      return userDetails.getDataScope();
+    }
+    return null;
+  }
+}
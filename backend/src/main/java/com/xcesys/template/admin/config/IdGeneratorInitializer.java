@@ -0,0 +1,69 @@
+package com.xcesys.template.admin.config;
+
+import com.xcesys.template.admin.entity.BaseEntity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 主键生成器初始化
+ * 在接收请求之前，把号段表的起始值推进到所有实体表当前最大ID之后，
+ * 避免与切换前自增生成的ID冲突
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorInitializer implements SmartInitializingSingleton {
+
+  private static final String SEGMENT = "entity";
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    long maxId = 0;
+    for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+      Table table = entity.getJavaType().getAnnotation(Table.class);
+      if (table != null && BaseEntity.class.isAssignableFrom(entity.getJavaType())) {
+        Long tableMax = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table.name(), Long.class);
+        maxId = Math.max(maxId, tableMax != null ? tableMax : 0);
+      }
+    }
+
+    // 预留一个号段，无论优化器如何解释当前值都不会分配到已存在的ID
+    long nextValue = maxId + 1 + BaseEntity.ID_ALLOCATION_SIZE;
+    int updated = advance(nextValue);
+    Integer exists = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + BaseEntity.ID_GENERATOR_TABLE
+        + " WHERE name = ?", Integer.class, SEGMENT);
+    if (exists == null || exists == 0) {
+      try {
+        updated = jdbcTemplate.update("INSERT INTO " + BaseEntity.ID_GENERATOR_TABLE
+            + " (name, next_val) VALUES (?, ?)", SEGMENT, nextValue);
+      } catch (DuplicateKeyException e) {
+        // 多个节点同时启动时其他节点已插入号段行，改为推进其起始值
+        updated = advance(nextValue);
+      }
+    }
+    if (updated > 0) {
+      log.info("主键生成器起始值已调整为{}", nextValue);
+    }
+  }
+
+  /**
+   * 把号段起始值推进到指定值，已经更大时不变
+   *
+   * @param nextValue 起始值
+   * @return 更新的行数
+   */
+  private int advance(long nextValue) {
+    return jdbcTemplate.update("UPDATE " + BaseEntity.ID_GENERATOR_TABLE
+        + " SET next_val = ? WHERE name = ? AND next_val < ?", nextValue, SEGMENT, nextValue);
+  }
+}
@@ -0,0 +1,31 @@
+package com.xcesys.template.admin.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * JPA配置类
+ */
+@Configuration
+public class JpaConfig {
+
+  /**
+   * 为EntityManagerFactory注册EntityManager初始化回调，在Session创建时绑定租户和数据范围过滤条件，
+   * 使未声明事务的派生查询同样受过滤条件约束
+   */
+  @Bean
+  public static BeanPostProcessor hibernateFilterInitializer(ObjectProvider<HibernateFilterBinder> filterBinder) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean factoryBean) {
+          factoryBean.setEntityManagerInitializer(entityManager -> filterBinder.getObject().bind(entityManager));
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,34 @@
+package com.xcesys.template.admin.config;
+
+import com.xcesys.template.admin.common.TwoLevelCache;
+import com.xcesys.template.admin.common.TwoLevelCacheMetrics;
+import com.xcesys.template.admin.security.JwtTokenCache;
+import com.xcesys.template.admin.security.JwtTokenCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指标配置类
+ * HTTP请求、Hikari连接池和Repository方法的计时由Spring Boot自动注册，直方图和百分位数在配置文件中开启；
+ * 这里补充自定义缓存的指标
+ */
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * 二级缓存指标，由Spring Boot在启动时为缓存管理器中的每个缓存注册
+   */
+  @Bean
+  public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+    return TwoLevelCacheMetrics::new;
+  }
+
+  /**
+   * 已验证JWT令牌缓存指标
+   */
+  @Bean
+  public JwtTokenCacheMetrics jwtTokenCacheMetrics(JwtTokenCache jwtTokenCache) {
+    return new JwtTokenCacheMetrics(jwtTokenCache);
+  }
+}
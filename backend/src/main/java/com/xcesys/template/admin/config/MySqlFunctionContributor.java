@@ -0,0 +1,25 @@
+package com.xcesys.template.admin.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * 注册MySQL专用的HQL函数
+ * 通过META-INF/services/org.hibernate.boot.model.FunctionContributor加载
+ */
+public class MySqlFunctionContributor implements FunctionContributor {
+
+  /**
+   * 两列全文检索相关度：match_against(列1, 列2, 布尔模式查询串)
+   */
+  public static final String MATCH_AGAINST = "match_against";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    functionContributions.getFunctionRegistry().registerPattern(
+        MATCH_AGAINST,
+        "match(?1, ?2) against(?3 in boolean mode)",
+        functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+  }
+}
@@ -0,0 +1,36 @@
+package com.xcesys.template.admin.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Redis配置类
+ */
+@Configuration
+public class RedisConfig {
+
+  /**
+   * Redis发布订阅监听容器，仅在需要跨节点同步时创建
+   */
+  @Bean
+  @ConditionalOnExpression("'${app.token-revocation.store:memory}' == 'redis' "
+      + "or '${app.cache-invalidation.bus:local}' == 'redis'")
+  public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+    // 单线程处理消息，保证缓存失效事件按发布顺序应用；不注册为Bean，避免替换默认的应用任务执行器
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setDaemon(true);
+    executor.setThreadNamePrefix("redis-listener-");
+    executor.initialize();
+
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.setTaskExecutor(executor);
+    return container;
+  }
+}
@@ -0,0 +1,37 @@
+package com.xcesys.template.admin.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 数据库结构升级
+ * 生产环境不使用ddl-auto，启动时执行db/upgrade.sql为已有数据库补建新增的表和补充新增的基础数据；
+ * 在实体管理器工厂之后初始化（开发环境由ddl-auto先建好基础表），早于主键生成器初始化和闭包表回填
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaUpgradeInitializer implements InitializingBean {
+
+  private static final String UPGRADE_SCRIPT = "db/upgrade.sql";
+
+  private final DataSource dataSource;
+
+  @Override
+  public void afterPropertiesSet() {
+    ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+    populator.addScript(new ClassPathResource(UPGRADE_SCRIPT));
+    populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+    populator.execute(dataSource);
+    log.info("数据库结构升级脚本{}执行完成", UPGRADE_SCRIPT);
+  }
+}
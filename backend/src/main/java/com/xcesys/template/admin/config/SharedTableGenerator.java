@@ -0,0 +1,41 @@
+package com.xcesys.template.admin.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.boot.model.relational.InitCommand;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * 所有实体共用一个号段行的表生成器
+ * Hibernate为每个实体各注册一条号段行的初始化插入，建表时除第一条外都会主键冲突，
+ * 这里改为号段行不存在时才插入
+ */
+public class SharedTableGenerator extends TableGenerator {
+
+  private boolean storeLastUsedValue;
+
+  @Override
+  public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+    super.configure(type, parameters, serviceRegistry);
+    storeLastUsedValue = serviceRegistry.requireService(ConfigurationService.class)
+        .getSetting(AvailableSettings.TABLE_GENERATOR_STORE_LAST_USED, StandardConverters.BOOLEAN, true);
+  }
+
+  @Override
+  protected InitCommand generateInsertInitCommand(SqlStringGenerationContext context) {
+    // 与父类写入相同的初始值
+    int value = storeLastUsedValue ? getInitialValue() - 1 : getInitialValue();
+    String table = getTableName();
+    String segment = "'" + getSegmentValue() + "'";
+    return new InitCommand("insert into " + table + " (" + getSegmentColumnName() + ", " + getValueColumnName() + ")"
+        + " select " + segment + ", " + value + " from dual"
+        + " where not exists (select 1 from " + table + " where " + getSegmentColumnName() + " = " + segment + ")");
+  }
+}
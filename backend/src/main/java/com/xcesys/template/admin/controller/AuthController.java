@@ -3,14 +3,25 @@ package com.xcesys.template.admin.controller;
 import com.xcesys.template.admin.common.Result;
 import com.xcesys.template.admin.dto.LoginRequest;
 import com.xcesys.template.admin.dto.LoginResponse;
+import com.xcesys.template.admin.dto.RefreshTokenRequest;
 import com.xcesys.template.admin.dto.UserDto;
 import com.xcesys.template.admin.entity.User;
+import com.xcesys.template.admin.exception.BusinessException;
+import com.xcesys.template.admin.security.AuthorizationEngine;
+import com.xcesys.template.admin.security.JwtClaims;
+import com.xcesys.template.admin.security.JwtTokenCache;
 import com.xcesys.template.admin.security.JwtTokenProvider;
+import com.xcesys.template.admin.security.LoginThrottle;
+import com.xcesys.template.admin.security.RefreshSession;
+import com.xcesys.template.admin.security.RefreshTokenService;
+import com.xcesys.template.admin.security.TokenRevocationList;
 import com.xcesys.template.admin.security.UserDetailsImpl;
 import com.xcesys.template.admin.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,7 +31,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Date;
-import java.util.Set;
 
 /**
  * 认证控制器
@@ -33,6 +43,11 @@ public class AuthController {
   private final AuthenticationManager authenticationManager;
   private final JwtTokenProvider jwtTokenProvider;
   private final UserService userService;
+  private final LoginThrottle loginThrottle;
+  private final TokenRevocationList tokenRevocationList;
+  private final JwtTokenCache jwtTokenCache;
+  private final RefreshTokenService refreshTokenService;
+  private final AuthorizationEngine authorizationEngine;
 
   /**
    * 用户登录
@@ -41,11 +56,24 @@ public class AuthController {
    * @return 登录响应
    */
   @PostMapping("/login")
-  public Result<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+  public Result<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+    // 失败次数超限时直接拒绝，不进行密码校验和数据库查询
+    String username = loginRequest.getUsername();
+    // 经可信代理转发时，RemoteIpValve已按X-Forwarded-For还原真实客户端地址
+    String clientIp = request.getRemoteAddr();
+    loginThrottle.checkAllowed(username, clientIp);
+
     // 认证用户
-    Authentication authentication = authenticationManager.authenticate(
-        new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
-    );
+    Authentication authentication;
+    try {
+      authentication = authenticationManager.authenticate(
+          new UsernamePasswordAuthenticationToken(username, loginRequest.getPassword())
+      );
+    } catch (BadCredentialsException e) {
+      loginThrottle.onFailure(username, clientIp);
+      throw e;
+    }
+    loginThrottle.onSuccess(username);
 
     // 设置认证信息到上下文
     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -56,30 +84,58 @@ public class AuthController {
     // 获取用户信息
     UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-    // 获取用户角色和权限
-    Set<String> roles = userService.getUserRoles(userDetails.getId());
-    Set<String> permissions = userService.getUserPermissions(userDetails.getId());
-
-    // 更新用户登录信息
-    User user = userService.findById(userDetails.getId());
-
-    // 构造返回数据
+    // 角色、权限和用户信息已在认证时一次性加载，无需再次查询
     LoginResponse response = LoginResponse.builder()
         .token(jwt)
+        .refreshToken(refreshTokenService.issue(userDetails.getId(), userDetails.getUsername(),
+            userDetails.getCompanyId()))
         .tokenType("Bearer")
         .id(userDetails.getId())
-        .companyId(user.getCompanyId())
+        .companyId(userDetails.getCompanyId())
         .username(userDetails.getUsername())
-        .nickname(user.getNickname())
-        .avatar(user.getAvatar())
-        .roles(roles)
-        .permissions(permissions)
+        .nickname(userDetails.getNickname())
+        .avatar(userDetails.getAvatar())
+        .roles(userDetails.getRoleCodes())
+        .permissions(userDetails.getPermissionCodes())
         .expiresIn(jwtTokenProvider.getExpirationDateFromToken(jwt).getTime() - new Date().getTime())
         .build();
 
     return Result.success("登录成功", response);
   }
 
+  /**
+   * 刷新访问令牌
+   * 刷新令牌使用后即作废并签发新的刷新令牌；角色和权限取自内存授权引擎，不校验密码也不查询数据库，
+   * 昵称和头像不在响应中返回
+   *
+   * @param refreshRequest 刷新令牌请求
+   * @return 新的令牌
+   */
+  @PostMapping("/refresh")
+  public Result<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+    RefreshSession session = refreshTokenService.consume(refreshRequest.getRefreshToken());
+    Long userId = session.userId();
+    if (!authorizationEngine.isUserEnabled(userId)) {
+      refreshTokenService.revokeAll(userId);
+      throw BusinessException.unauthorizedError("用户已停用");
+    }
+
+    String jwt = jwtTokenProvider.createToken(userId, session.username(), session.companyId());
+    LoginResponse response = LoginResponse.builder()
+        .token(jwt)
+        .refreshToken(refreshTokenService.issue(userId, session.username(), session.companyId()))
+        .tokenType("Bearer")
+        .id(userId)
+        .companyId(session.companyId())
+        .username(session.username())
+        .roles(authorizationEngine.getRoleCodes(userId))
+        .permissions(authorizationEngine.getPermissionCodes(userId))
+        .expiresIn(jwtTokenProvider.getExpirationDateFromToken(jwt).getTime() - new Date().getTime())
+        .build();
+
+    return Result.success("刷新成功", response);
+  }
+
   /**
    * 用户注册
    *
@@ -131,12 +187,24 @@ public class AuthController {
   /**
    * 退出登录
    *
+   * @param refreshRequest 刷新令牌请求，携带时一并撤销刷新令牌
    * @return 退出结果
    */
   @PostMapping("/logout")
-  public Result<String> logout() {
-    // JWT是无状态的，客户端只需要删除JWT即可
-    // 这里可以添加令牌黑名单或撤销令牌的逻辑（需要Redis支持）
+  public Result<String> logout(@RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+    if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+      refreshTokenService.revoke(refreshRequest.getRefreshToken());
+    }
+
+    // 认证过滤器已验证令牌，凭证即为当前令牌；撤销后该令牌在剩余有效期内不能再使用
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getCredentials() instanceof String token) {
+      JwtClaims claims = jwtTokenProvider.parse(token);
+      if (claims.tokenId() != null) {
+        tokenRevocationList.revoke(claims.tokenId(), claims.expiration());
+      }
+      jwtTokenCache.evict(token);
+    }
     return Result.success("退出成功");
   }
 }
\ No newline at end of file
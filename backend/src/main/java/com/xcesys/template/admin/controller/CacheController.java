@@ -0,0 +1,32 @@
+package com.xcesys.template.admin.controller;
+
+import com.xcesys.template.admin.common.Result;
+import com.xcesys.template.admin.common.TwoLevelCacheManager;
+import com.xcesys.template.admin.dto.CacheStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 缓存监控控制器
+ */
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+  private final TwoLevelCacheManager cacheManager;
+
+  /**
+   * 获取各缓存的命中统计
+   */
+  @GetMapping("/stats")
+  @PreAuthorize("hasAuthority('admin')")
+  public Result<List<CacheStatsDto>> getStats() {
+    return Result.success(cacheManager.getCaches().stream().map(CacheStatsDto::of).toList());
+  }
+}
@@ -1,5 +1,6 @@
 package com.xcesys.template.admin.controller;
 
+import com.xcesys.template.admin.common.CursorPage;
 import com.xcesys.template.admin.common.Result;
 import com.xcesys.template.admin.dto.CompanyDto;
 import com.xcesys.template.admin.entity.Company;
@@ -46,6 +47,21 @@ public class CompanyController {
     return Result.success(page.map(companyMapper::toDto));
   }
 
+  /**
+   * 游标分页查询公司列表
+   */
+  @GetMapping("/scroll")
+  @PreAuthorize("hasAuthority('system:company:list')")
+  public Result<CursorPage<CompanyDto>> scrollCompanies(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) Boolean enabled,
+      @RequestParam(defaultValue = "false") boolean withTotal) {
+    CursorPage<Company> page = companyService.scrollCompanies(name, enabled, cursor, size, withTotal);
+    return Result.success(page.map(companyMapper::toDto));
+  }
+
   /**
    * 创建公司
    */
@@ -2,13 +2,18 @@ package com.xcesys.template.admin.controller;
 
 import com.xcesys.template.admin.common.Result;
 import com.xcesys.template.admin.dto.MenuDto;
+import com.xcesys.template.admin.dto.MenuTreeNode;
 import com.xcesys.template.admin.entity.Menu;
 import com.xcesys.template.admin.mapper.MenuMapper;
 import com.xcesys.template.admin.service.MenuService;
+import com.xcesys.template.admin.service.MenuTreeCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,6 +27,7 @@ import java.util.stream.Collectors;
 public class MenuController {
 
   private final MenuService menuService;
+  private final MenuTreeCache menuTreeCache;
 
   /**
    * 将菜单实体转换为DTO
@@ -38,21 +44,30 @@ public class MenuController {
    */
   @GetMapping({"/tree", "list"})
   @PreAuthorize("hasAuthority('system:menu:list')")
-  public Result<List<Menu>> getMenuTree() {
+  public Result<List<MenuTreeNode>> getMenuTree() {
 
-    List<Menu> menuTree = menuService.findMenuTree();
+    List<MenuTreeNode> menuTree = menuService.findMenuTree();
     return Result.success(menuTree);
   }
 
   /**
    * 获取当前用户菜单树
+   * 响应体来自按角色集合缓存的序列化结果，客户端携带的If-None-Match与当前ETag一致时返回304
    *
+   * @param userId     用户ID
+   * @param webRequest 当前请求
    * @return 当前用户的菜单树结构
    */
   @GetMapping("/user")
-  public Result<List<Menu>> getUserMenuTree(@RequestParam Long userId) {
-    List<Menu> userMenuTree = menuService.findUserMenuTree(userId);
-    return Result.success(userMenuTree);
+  public ResponseEntity<byte[]> getUserMenuTree(@RequestParam Long userId, WebRequest webRequest) {
+    MenuTreeCache.CachedMenuTree menuTree = menuTreeCache.getUserMenuTree(userId);
+    if (webRequest.checkNotModified(menuTree.etag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .eTag(menuTree.etag())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(menuTree.body());
   }
 
   /**
@@ -63,9 +78,9 @@ public class MenuController {
    */
   @GetMapping("/{id}")
   @PreAuthorize("hasAuthority('system:menu:query')")
-  public Result<Menu> getMenuDetail(@PathVariable Long id) {
+  public Result<MenuDto> getMenuDetail(@PathVariable Long id) {
     Menu menu = menuService.findById(id);
-    return Result.success(menu);
+    return Result.success(menuMapper.toDto(menu));
   }
 
   /**
@@ -148,9 +163,9 @@ public class MenuController {
    */
   @GetMapping("/type/{type}")
   @PreAuthorize("hasAuthority('system:menu:list')")
-  public Result<List<Menu>> getMenusByType(@PathVariable String type) {
+  public Result<List<MenuDto>> getMenusByType(@PathVariable String type) {
     List<Menu> menus = menuService.findByType(type);
-    return Result.success(menus);
+    return Result.success(menus.stream().map(menuMapper::toDto).toList());
   }
 
   /**
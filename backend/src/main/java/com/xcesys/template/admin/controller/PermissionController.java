@@ -1,5 +1,6 @@
 package com.xcesys.template.admin.controller;
 
+import com.xcesys.template.admin.common.CursorPage;
 import com.xcesys.template.admin.common.Result;
 import com.xcesys.template.admin.dto.PermissionDto;
 import com.xcesys.template.admin.entity.Permission;
@@ -27,6 +28,16 @@ public class PermissionController {
     return Result.success(permissionService.findAllPermissions(pageable));
   }
 
+  @GetMapping("/scroll")
+  @PreAuthorize("hasAuthority('system:permission:list')")
+  public Result<CursorPage<PermissionDto>> scroll(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int size,
+                                                  @RequestParam(required = false) String name,
+                                                  @RequestParam(defaultValue = "false") boolean withTotal) {
+    CursorPage<Permission> page = permissionService.scrollPermissions(name, cursor, size, withTotal);
+    return Result.success(page.map(permissionMapper::toDto));
+  }
+
   @GetMapping("/{id}")
   @PreAuthorize("hasAuthority('system:permission:query')")
   public Result<Permission> detail(@PathVariable Long id) {
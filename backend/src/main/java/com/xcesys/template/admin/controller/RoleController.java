@@ -1,6 +1,8 @@
 package com.xcesys.template.admin.controller;
 
+import com.xcesys.template.admin.common.CursorPage;
 import com.xcesys.template.admin.common.Result;
+import com.xcesys.template.admin.dto.AssignmentResult;
 import com.xcesys.template.admin.dto.RoleDto;
 import com.xcesys.template.admin.entity.Role;
 import com.xcesys.template.admin.mapper.RoleMapper;
@@ -51,6 +53,29 @@ public class RoleController {
         return Result.success(roles.map(roleMapper::toDto));
     }
 
+    /**
+     * 游标分页获取角色列表，按ID排序
+     *
+     * @param cursor    上一页返回的游标，为空时查询第一页
+     * @param size      每页大小
+     * @param name      角色名称（模糊查询）
+     * @param enabled   角色状态
+     * @param withTotal 是否统计总数
+     * @return 角色游标分页列表
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('system:role:list')")
+    public Result<CursorPage<RoleDto>> scrollRoles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        CursorPage<Role> roles = roleService.scrollRoles(name, enabled, cursor, size, withTotal);
+        return Result.success(roles.map(roleMapper::toDto));
+    }
+
     /**
      * 获取所有角色列表（不分页）
      *
@@ -58,9 +83,8 @@ public class RoleController {
      */
     @GetMapping("/all")
     @PreAuthorize("hasAuthority('system:role:list')")
-    public Result<List<Role>> getAllRoles() {
-        List<Role> roles = roleService.findAllRoles();
-        return Result.success(roles);
+    public Result<List<RoleDto>> getAllRoles() {
+        return Result.success(roleService.findAllRoles());
     }
 
     /**
@@ -71,9 +95,12 @@ public class RoleController {
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('system:role:query')")
-    public Result<Role> getRoleDetail(@PathVariable Long id) {
+    public Result<RoleDto> getRoleDetail(@PathVariable Long id) {
         Role role = roleService.findById(id);
-        return Result.success(role);
+        RoleDto roleDto = roleMapper.toDto(role);
+        roleDto.setPermissionIds(roleService.getRolePermissionIds(id));
+        roleDto.setMenuIds(roleService.getRoleMenuIds(id));
+        return Result.success(roleDto);
     }
 
     /**
@@ -209,9 +236,8 @@ public class RoleController {
      */
     @PostMapping("/{id}/permissions")
     @PreAuthorize("hasAuthority('system:role:edit')")
-    public Result<String> assignPermissions(@PathVariable Long id, @RequestBody Set<Long> permissionIds) {
-        roleService.assignPermissions(id, permissionIds);
-        return Result.success("分配权限成功");
+    public Result<AssignmentResult> assignPermissions(@PathVariable Long id, @RequestBody Set<Long> permissionIds) {
+        return Result.success("分配权限成功", roleService.assignPermissions(id, permissionIds));
     }
 
     /**
@@ -223,9 +249,8 @@ public class RoleController {
      */
     @PostMapping("/{id}/menus")
     @PreAuthorize("hasAuthority('system:role:edit')")
-    public Result<String> assignMenus(@PathVariable Long id, @RequestBody Set<Long> menuIds) {
-        roleService.assignMenus(id, menuIds);
-        return Result.success("分配菜单成功");
+    public Result<AssignmentResult> assignMenus(@PathVariable Long id, @RequestBody Set<Long> menuIds) {
+        return Result.success("分配菜单成功", roleService.assignMenus(id, menuIds));
     }
 
     /**
@@ -237,11 +262,7 @@ public class RoleController {
     @GetMapping("/{id}/permissions")
     @PreAuthorize("hasAuthority('system:role:query')")
     public Result<Set<Long>> getRolePermissions(@PathVariable Long id) {
-        Role role = roleService.findById(id);
-        Set<Long> permissionIds = role.getPermissions().stream()
-                .map(permission -> permission.getId())
-                .collect(java.util.stream.Collectors.toSet());
-        return Result.success(permissionIds);
+        return Result.success(roleService.getRolePermissionIds(id));
     }
 
     /**
@@ -253,10 +274,6 @@ public class RoleController {
     @GetMapping("/{id}/menus")
     @PreAuthorize("hasAuthority('system:role:query')")
     public Result<Set<Long>> getRoleMenus(@PathVariable Long id) {
-        Role role = roleService.findById(id);
-        Set<Long> menuIds = role.getMenus().stream()
-                .map(menu -> menu.getId())
-                .collect(java.util.stream.Collectors.toSet());
-        return Result.success(menuIds);
+        return Result.success(roleService.getRoleMenuIds(id));
     }
 }
\ No newline at end of file
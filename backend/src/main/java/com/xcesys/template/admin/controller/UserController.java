@@ -1,20 +1,27 @@
 package com.xcesys.template.admin.controller;
 
+import com.xcesys.template.admin.common.CursorPage;
 import com.xcesys.template.admin.common.Result;
+import com.xcesys.template.admin.dto.AssignmentResult;
+import com.xcesys.template.admin.dto.ImportResult;
 import com.xcesys.template.admin.dto.UserDto;
 import com.xcesys.template.admin.entity.User;
 import com.xcesys.template.admin.mapper.UserMapper;
+import com.xcesys.template.admin.service.UserImportService;
 import com.xcesys.template.admin.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +37,7 @@ public class UserController {
 
   private final UserService userService;
   private final UserMapper userMapper;
+  private final UserImportService userImportService;
 
   /**
    * 获取当前登录用户信息
@@ -86,6 +94,31 @@ public class UserController {
     return Result.success(users.map(this.userMapper::toDto));
   }
 
+  /**
+   * 游标分页获取用户列表，不执行偏移查询，适用于大数据量翻页
+   *
+   * @param cursor    上一页返回的游标，为空时查询第一页
+   * @param size      每页大小
+   * @param keyword   关键字
+   * @param deptId    部门ID
+   * @param enabled   状态
+   * @param withTotal 是否统计总数
+   * @return 用户游标分页列表
+   */
+  @GetMapping("/scroll")
+  @PreAuthorize("hasAuthority('system:user:list')")
+  public Result<CursorPage<UserDto>> scrollUsers(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) String keyword,
+      @RequestParam(required = false) Long deptId,
+      @RequestParam(required = false) Boolean enabled,
+      @RequestParam(defaultValue = "false") boolean withTotal) {
+
+    CursorPage<User> users = userService.scrollUsers(keyword, deptId, enabled, cursor, size, withTotal);
+    return Result.success(users.map(this.userMapper::toDto));
+  }
+
   /**
    * 获取用户详情
    *
@@ -94,9 +127,11 @@ public class UserController {
    */
   @GetMapping("/{id}")
   @PreAuthorize("hasAuthority('system:user:query')")
-  public Result<User> getUserDetail(@PathVariable Long id) {
+  public Result<UserDto> getUserDetail(@PathVariable Long id) {
     User user = userService.findById(id);
-    return Result.success(user);
+    UserDto userDto = this.userMapper.toDto(user);
+    userDto.setRoleIds(userService.getUserRoleIds(id));
+    return Result.success(userDto);
   }
 
   /**
@@ -146,6 +181,49 @@ public class UserController {
     return Result.success("创建成功", createdUserDto);
   }
 
+  /**
+   * 批量创建用户，用于批量开户，整批在一个事务中按JDBC批量插入
+   *
+   * @param userDtos 用户信息列表
+   * @return 创建的用户数
+   */
+  @PostMapping("/batch")
+  @PreAuthorize("hasAuthority('system:user:add')")
+  public Result<Integer> createUsers(@RequestBody List<UserDto> userDtos) {
+    List<User> users = userDtos.stream().map(userDto -> {
+      User user = new User();
+      user.setUsername(userDto.getUsername());
+      user.setPassword(userDto.getPassword());
+      user.setNickname(userDto.getNickname());
+      user.setEmail(userDto.getEmail());
+      user.setPhone(userDto.getPhone());
+      user.setGender(userDto.getGender());
+      user.setEnabled(userDto.getEnabled());
+      user.setDepartmentId(userDto.getDepartmentId());
+      return user;
+    }).toList();
+
+    return Result.success("批量创建成功", userService.createUsers(users));
+  }
+
+  /**
+   * 流式导入用户
+   * 请求体为CSV（text/csv，首行为表头）或NDJSON（application/x-ndjson），按块校验和写入，
+   * 失败的行记录在导入结果中，不影响其他行
+   *
+   * @param request HTTP请求
+   * @return 导入结果
+   * @throws IOException 读取请求体失败
+   */
+  @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+  @PreAuthorize("hasAuthority('system:user:add')")
+  public Result<ImportResult> importUsers(HttpServletRequest request) throws IOException {
+    UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(
+        MediaType.parseMediaType(request.getContentType())) ? UserImportService.Format.NDJSON
+        : UserImportService.Format.CSV;
+    return Result.success(userImportService.importUsers(request.getInputStream(), format));
+  }
+
   /**
    * 更新用户
    *
@@ -275,9 +353,8 @@ public class UserController {
    */
   @PostMapping("/{id}/roles")
   @PreAuthorize("hasAuthority('system:user:edit')")
-  public Result<String> assignRoles(@PathVariable Long id, @RequestBody Set<Long> roleIds) {
-    userService.assignRoles(id, roleIds);
-    return Result.success("分配角色成功");
+  public Result<AssignmentResult> assignRoles(@PathVariable Long id, @RequestBody Set<Long> roleIds) {
+    return Result.success("分配角色成功", userService.assignRoles(id, roleIds));
   }
 
 
@@ -0,0 +1,31 @@
+package com.xcesys.template.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 关联分配结果
+ */
+@Data
+@AllArgsConstructor
+public class AssignmentResult {
+
+    /**
+     * 新增的关联数
+     */
+    private int added;
+
+    /**
+     * 移除的关联数
+     */
+    private int removed;
+
+    /**
+     * 是否有变化
+     *
+     * @return 有新增或移除时返回true
+     */
+    public boolean isChanged() {
+        return added > 0 || removed > 0;
+    }
+}
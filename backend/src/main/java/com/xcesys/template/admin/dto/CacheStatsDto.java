@@ -0,0 +1,80 @@
+package com.xcesys.template.admin.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.xcesys.template.admin.common.TwoLevelCache;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存统计信息
+ */
+@Data
+@NoArgsConstructor
+public class CacheStatsDto {
+
+    /**
+     * 缓存名称
+     */
+    private String name;
+
+    /**
+     * 一级缓存条目数（估算值）
+     */
+    private long size;
+
+    /**
+     * 一级缓存命中次数
+     */
+    private long hits;
+
+    /**
+     * 一级缓存未命中次数
+     */
+    private long misses;
+
+    /**
+     * 一级缓存命中率
+     */
+    private double hitRate;
+
+    /**
+     * 一级缓存因容量或过期淘汰的条目数
+     */
+    private long evictions;
+
+    /**
+     * 是否启用了二级缓存
+     */
+    private boolean remote;
+
+    /**
+     * 二级缓存命中次数
+     */
+    private long remoteHits;
+
+    /**
+     * 二级缓存未命中次数
+     */
+    private long remoteMisses;
+
+    /**
+     * 根据二级缓存生成统计信息
+     *
+     * @param cache 二级缓存
+     * @return 统计信息
+     */
+    public static CacheStatsDto of(TwoLevelCache cache) {
+        CacheStats stats = cache.getLocal().stats();
+        CacheStatsDto dto = new CacheStatsDto();
+        dto.setName(cache.getName());
+        dto.setSize(cache.getLocal().estimatedSize());
+        dto.setHits(stats.hitCount());
+        dto.setMisses(stats.missCount());
+        dto.setHitRate(stats.hitRate());
+        dto.setEvictions(stats.evictionCount());
+        dto.setRemote(cache.hasRemote());
+        dto.setRemoteHits(cache.getRemoteHitCount());
+        dto.setRemoteMisses(cache.getRemoteMissCount());
+        return dto;
+    }
+}
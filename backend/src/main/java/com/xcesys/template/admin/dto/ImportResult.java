@@ -0,0 +1,65 @@
+package com.xcesys.template.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量导入结果
+ */
+@Data
+@NoArgsConstructor
+public class ImportResult {
+
+    /**
+     * 读取的数据行数
+     */
+    private int total;
+
+    /**
+     * 导入成功的行数
+     */
+    private int imported;
+
+    /**
+     * 导入失败的行数
+     */
+    private int failed;
+
+    /**
+     * 失败行明细，超过上限后不再记录
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 失败行明细是否被截断
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * 失败行明细
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * 行号（从1开始，含表头）
+         */
+        private long line;
+
+        /**
+         * 用户名
+         */
+        private String username;
+
+        /**
+         * 失败原因
+         */
+        private String message;
+    }
+}
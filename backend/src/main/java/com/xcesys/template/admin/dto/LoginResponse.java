@@ -37,10 +37,15 @@ public class LoginResponse {
   private String avatar;
 
   /**
-   * 认证令牌
+   * 访问令牌
    */
   private String token;
 
+  /**
+   * 刷新令牌，访问令牌过期后用于换取新的令牌
+   */
+  private String refreshToken;
+
   /**
    * 令牌类型
    */
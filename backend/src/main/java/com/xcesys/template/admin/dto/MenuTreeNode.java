@@ -0,0 +1,113 @@
+package com.xcesys.template.admin.dto;
+
+import com.xcesys.template.admin.entity.Menu;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 菜单树节点，与实体分离的不可变对象
+ */
+@Value
+public class MenuTreeNode {
+
+    /**
+     * 菜单ID
+     */
+    Long id;
+
+    /**
+     * 父菜单ID
+     */
+    Long parentId;
+
+    /**
+     * 菜单名称
+     */
+    String name;
+
+    /**
+     * 路由地址
+     */
+    String path;
+
+    /**
+     * 组件路径
+     */
+    String component;
+
+    /**
+     * 路由参数
+     */
+    String query;
+
+    /**
+     * 是否为外链
+     */
+    Boolean isExternal;
+
+    /**
+     * 是否缓存
+     */
+    Boolean isCache;
+
+    /**
+     * 菜单类型（M目录 C菜单 F按钮）
+     */
+    String type;
+
+    /**
+     * 菜单状态（true显示 false隐藏）
+     */
+    Boolean visible;
+
+    /**
+     * 启用状态
+     */
+    Boolean enabled;
+
+    /**
+     * 权限标识
+     */
+    String permissionCode;
+
+    /**
+     * 菜单图标
+     */
+    String icon;
+
+    /**
+     * 显示顺序
+     */
+    Integer sort;
+
+    /**
+     * 备注
+     */
+    String remark;
+
+    /**
+     * 创建时间
+     */
+    LocalDateTime createTime;
+
+    /**
+     * 子菜单
+     */
+    List<MenuTreeNode> children;
+
+    /**
+     * 根据菜单实体创建树节点
+     *
+     * @param menu     菜单实体
+     * @param children 子节点
+     * @return 树节点
+     */
+    public static MenuTreeNode of(Menu menu, List<MenuTreeNode> children) {
+        return new MenuTreeNode(menu.getId(), menu.getParentId(), menu.getName(), menu.getPath(),
+                menu.getComponent(), menu.getQuery(), menu.getIsExternal(), menu.getIsCache(), menu.getType(),
+                menu.getVisible(), menu.getEnabled(), menu.getPermissionCode(), menu.getIcon(), menu.getSort(),
+                menu.getRemark(), menu.getCreateTime(), List.copyOf(children));
+    }
+}
@@ -1,10 +1,13 @@
 package com.xcesys.template.admin.entity;
 
+import com.xcesys.template.admin.config.SharedTableGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -21,7 +24,6 @@ import java.time.LocalDateTime;
  */
 @Getter
 @Setter
-@DynamicInsert
 @DynamicUpdate
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
@@ -30,11 +32,33 @@ public abstract class BaseEntity implements Serializable {
   @Serial
   private static final long serialVersionUID = -158808243487997030L;
 
+  /**
+   * 主键生成器名称
+   */
+  public static final String ID_GENERATOR = "entity_id";
+
+  /**
+   * 主键生成器表
+   */
+  public static final String ID_GENERATOR_TABLE = "sys_id_generator";
+
+  /**
+   * 主键生成器每次分配的ID数量，与hibernate.jdbc.batch_size一致
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   /**
    * 主键ID
+   * 使用表生成器按号段分配，插入前即可获得ID，Hibernate才能合并批量插入（IDENTITY会关闭批量插入）
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = ID_GENERATOR)
+  @GenericGenerator(name = ID_GENERATOR, type = SharedTableGenerator.class, parameters = {
+      @Parameter(name = TableGenerator.TABLE_PARAM, value = ID_GENERATOR_TABLE),
+      @Parameter(name = TableGenerator.SEGMENT_COLUMN_PARAM, value = "name"),
+      @Parameter(name = TableGenerator.VALUE_COLUMN_PARAM, value = "next_val"),
+      @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = "entity"),
+      @Parameter(name = TableGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE)})
   private Long id;
 
   /**
@@ -9,6 +9,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Filter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +22,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @Table(name = "sys_department")
+@Filter(name = "dataScopeDeptFilter")
 // 移除以下两个注解
 // @SQLDelete(sql = "UPDATE sys_department SET deleted = true WHERE id = ? and version = ?")
 // @Where(clause = "deleted = false")
@@ -0,0 +1,67 @@
+package com.xcesys.template.admin.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 部门闭包表实体类
+ * 保存每个部门与其所有上级部门（包含自身）之间的关系，子树和上级路径查询只需一次索引连接
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@IdClass(DepartmentClosure.Key.class)
+@Table(name = "sys_department_closure", indexes = {
+    @Index(name = "idx_department_closure_descendant", columnList = "descendant_id, depth")
+})
+public class DepartmentClosure {
+
+  /**
+   * 上级部门ID
+   */
+  @Id
+  @Column(name = "ancestor_id")
+  private Long ancestorId;
+
+  /**
+   * 下级部门ID
+   */
+  @Id
+  @Column(name = "descendant_id")
+  private Long descendantId;
+
+  /**
+   * 层级距离，自身为0
+   */
+  @Column(name = "depth", nullable = false)
+  private Integer depth;
+
+  /**
+   * 闭包表联合主键
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private Long ancestorId;
+
+    private Long descendantId;
+  }
+}
@@ -1,5 +1,6 @@
 package com.xcesys.template.admin.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -112,6 +113,7 @@ public class Menu extends BaseEntity {
     /**
      * 父菜单
      */
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id", insertable = false, updatable = false)
     private Menu parent;
@@ -126,6 +128,7 @@ public class Menu extends BaseEntity {
     /**
      * 角色和菜单多对多关系（由Role维护）
      */
+    @JsonIgnore
     @ManyToMany(mappedBy = "menus")
     private Set<Role> roles = new HashSet<>();
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Filter;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -21,6 +22,7 @@ import java.util.Set;
 @Setter
 @NoArgsConstructor
 @Table(name = "sys_user")
+@Filter(name = "dataScopeUserFilter")
 // 移除以下软删除注解
 // @SQLDelete(sql = "UPDATE sys_user SET deleted = true WHERE id = ? and version = ?")
 // @SQLRestriction(value = "deleted = false")
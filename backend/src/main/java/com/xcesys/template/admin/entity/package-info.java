@@ -1,5 +1,7 @@
 @FilterDefs({
-    @FilterDef(name = "tenantFilter", defaultCondition = "company_id=:tenantId", parameters = {@ParamDef(name = "tenantId", type = LongJavaType.class)})
+    @FilterDef(name = "tenantFilter", defaultCondition = "company_id=:tenantId", parameters = {@ParamDef(name = "tenantId", type = LongJavaType.class)}),
+    @FilterDef(name = "dataScopeUserFilter", defaultCondition = "(dept_id in (:deptIds) or id = :userId)", parameters = {@ParamDef(name = "deptIds", type = LongJavaType.class), @ParamDef(name = "userId", type = LongJavaType.class)}),
+    @FilterDef(name = "dataScopeDeptFilter", defaultCondition = "id in (:deptIds)", parameters = {@ParamDef(name = "deptIds", type = LongJavaType.class)})
 })
 package com.xcesys.template.admin.entity;
 
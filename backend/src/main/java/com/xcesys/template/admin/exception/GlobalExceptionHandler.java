@@ -126,6 +126,30 @@ public class GlobalExceptionHandler {
         return Result.error(403, "权限不足，访问被拒绝");
     }
 
+    /**
+     * 处理请求过于频繁异常
+     *
+     * @param e 请求过于频繁异常
+     * @return 响应结果
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Result<String> handleTooManyRequestsException(TooManyRequestsException e) {
+        return Result.error(e.getCode(), e.getMessage());
+    }
+
+    /**
+     * 处理服务繁忙异常
+     *
+     * @param e 服务繁忙异常
+     * @return 响应结果
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Result<String> handleServiceBusyException(ServiceBusyException e) {
+        return Result.error(e.getCode(), e.getMessage());
+    }
+
     /**
      * 处理业务异常
      *
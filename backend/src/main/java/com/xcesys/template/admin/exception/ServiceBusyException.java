@@ -0,0 +1,17 @@
+package com.xcesys.template.admin.exception;
+
+/**
+ * 服务繁忙异常
+ * 当受限资源（如密码哈希线程池）已满载时抛出，由全局异常处理器转换为503响应
+ */
+public class ServiceBusyException extends BusinessException {
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     */
+    public ServiceBusyException(String message) {
+        super(503, message);
+    }
+}
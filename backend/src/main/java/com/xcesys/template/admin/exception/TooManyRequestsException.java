@@ -0,0 +1,17 @@
+package com.xcesys.template.admin.exception;
+
+/**
+ * 请求过于频繁异常
+ * 由全局异常处理器转换为429响应
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     */
+    public TooManyRequestsException(String message) {
+        super(429, message);
+    }
+}
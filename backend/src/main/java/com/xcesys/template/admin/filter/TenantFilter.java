@@ -1,50 +1,107 @@
 package com.xcesys.template.admin.filter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xcesys.template.admin.common.Result;
 import com.xcesys.template.admin.security.TenantAware;
+import com.xcesys.template.admin.security.TenantCache;
 import com.xcesys.template.admin.security.TenantResolver;
-import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
-import org.hibernate.Session;
-import org.springframework.core.Ordered;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 租户过滤器
- * 用于在查询时自动添加租户条件，实现多租户数据隔离
+ * 解析当前请求的租户并绑定到线程，Hibernate租户过滤条件由事务管理器在事务开始时按需启用。
+ * 在安全过滤器链之后执行，以便从已登录用户中解析租户
  */
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE)
-@RequiredArgsConstructor
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
 public class TenantFilter extends OncePerRequestFilter {
 
-  private final EntityManager entityManager;
+  private static final String[] EXCLUDED_PATH_PREFIXES = {"/actuator", "/swagger-ui", "/v3/api-docs"};
+
   private final TenantAware tenantAware;
   private final TenantResolver tenantResolver;
+  private final TenantCache tenantCache;
+  private final ObjectMapper objectMapper;
+
+  private final Timer resolvedTimer;
+  private final Timer absentTimer;
+  private final Timer rejectedTimer;
+
+  public TenantFilter(TenantAware tenantAware, TenantResolver tenantResolver, TenantCache tenantCache,
+                      ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.tenantAware = tenantAware;
+    this.tenantResolver = tenantResolver;
+    this.tenantCache = tenantCache;
+    this.objectMapper = objectMapper;
+    this.resolvedTimer = resolutionTimer(meterRegistry, "resolved");
+    this.absentTimer = resolutionTimer(meterRegistry, "absent");
+    this.rejectedTimer = resolutionTimer(meterRegistry, "rejected");
+  }
 
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
     // 从请求中解析租户ID
+    long start = System.nanoTime();
     Long tenantId = tenantResolver.resolveTenantId(request);
+    boolean active = tenantId == null || tenantCache.isActive(tenantId);
+    Timer timer = tenantId == null ? absentTimer : active ? resolvedTimer : rejectedTimer;
+    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    // 租户已停用或已过期时直接拒绝
+    if (!active) {
+      response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      objectMapper.writeValue(response.getOutputStream(), Result.error(403, "租户已停用或已过期"));
+      return;
+    }
 
     // 设置当前租户ID
     tenantAware.setCurrentTenantId(tenantId);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      tenantAware.clear();
+    }
+  }
 
-    //        if (tenantId != null) {
-    // 设置Hibernate Session的租户ID
-    Session session = entityManager.unwrap(Session.class);
-    session.enableFilter("tenantFilter")
-        .setParameter("tenantId", tenantId);
-    //        }
+  private static Timer resolutionTimer(MeterRegistry meterRegistry, String result) {
+    return Timer.builder("tenant.resolution")
+        .description("Tenant resolution and active check for each request")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
 
-    filterChain.doFilter(request, response);
+  /**
+   * 预检请求、监控端点和接口文档不访问租户数据，无需解析租户
+   */
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+      return true;
+    }
+    String path = request.getServletPath();
+    for (String prefix : EXCLUDED_PATH_PREFIXES) {
+      if (path.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
   }
 }
\ No newline at end of file
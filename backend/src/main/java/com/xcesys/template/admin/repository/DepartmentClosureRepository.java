@@ -0,0 +1,105 @@
+package com.xcesys.template.admin.repository;
+
+import com.xcesys.template.admin.entity.DepartmentClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 部门闭包表数据访问接口
+ */
+@Repository
+public interface DepartmentClosureRepository extends JpaRepository<DepartmentClosure, DepartmentClosure.Key> {
+
+  /**
+   * 为新部门写入闭包关系：自身以及父部门的所有上级
+   *
+   * @param deptId   部门ID
+   * @param parentId 父部门ID，顶级部门为null
+   * @return 写入的记录数
+   */
+  @Modifying
+  @Query(nativeQuery = true, value =
+      "INSERT INTO sys_department_closure (ancestor_id, descendant_id, depth) " +
+          "SELECT :deptId, :deptId, 0 " +
+          "UNION ALL " +
+          "SELECT c.ancestor_id, :deptId, c.depth + 1 FROM sys_department_closure c WHERE c.descendant_id = :parentId")
+  int insertNode(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+  /**
+   * 断开子树与原上级部门的关系（子树内部关系保留）
+   *
+   * @param deptId 子树根部门ID
+   * @return 删除的记录数
+   */
+  @Modifying
+  @Query(nativeQuery = true, value =
+      "DELETE c FROM sys_department_closure c " +
+          "JOIN sys_department_closure sub ON sub.descendant_id = c.descendant_id AND sub.ancestor_id = :deptId " +
+          "LEFT JOIN sys_department_closure inner_c ON inner_c.ancestor_id = :deptId AND inner_c.descendant_id = c.ancestor_id " +
+          "WHERE inner_c.ancestor_id IS NULL")
+  int detachSubtree(@Param("deptId") Long deptId);
+
+  /**
+   * 将子树挂接到新的父部门下
+   *
+   * @param deptId   子树根部门ID
+   * @param parentId 新父部门ID
+   * @return 写入的记录数
+   */
+  @Modifying
+  @Query(nativeQuery = true, value =
+      "INSERT INTO sys_department_closure (ancestor_id, descendant_id, depth) " +
+          "SELECT p.ancestor_id, sub.descendant_id, p.depth + sub.depth + 1 " +
+          "FROM sys_department_closure p JOIN sys_department_closure sub ON sub.ancestor_id = :deptId " +
+          "WHERE p.descendant_id = :parentId")
+  int attachSubtree(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+  /**
+   * 删除部门的全部闭包关系
+   *
+   * @param deptId 部门ID
+   * @return 删除的记录数
+   */
+  @Modifying
+  @Query(nativeQuery = true, value =
+      "DELETE FROM sys_department_closure WHERE descendant_id = :deptId OR ancestor_id = :deptId")
+  int deleteNode(@Param("deptId") Long deptId);
+
+  /**
+   * 清空闭包表
+   */
+  @Modifying
+  @Query(nativeQuery = true, value = "DELETE FROM sys_department_closure")
+  void deleteAllRows();
+
+  /**
+   * 根据部门表的parent_id重建闭包表
+   * <p>
+   * 注：此查询需要数据库支持递归查询，如MySQL 8.0+的WITH RECURSIVE语法
+   *
+   * @return 写入的记录数
+   */
+  @Modifying
+  @Query(nativeQuery = true, value =
+      "INSERT INTO sys_department_closure (ancestor_id, descendant_id, depth) " +
+          "WITH RECURSIVE dept_tree (ancestor_id, descendant_id, depth) AS (" +
+          "  SELECT id, id, 0 FROM sys_department " +
+          "  UNION ALL " +
+          "  SELECT dt.ancestor_id, d.id, dt.depth + 1 FROM sys_department d " +
+          "  JOIN dept_tree dt ON dt.descendant_id = d.parent_id" +
+          ") " +
+          "SELECT ancestor_id, descendant_id, depth FROM dept_tree")
+  int rebuild();
+
+  /**
+   * 判断部门是否为另一部门的上级（或自身）
+   *
+   * @param ancestorId   上级部门ID
+   * @param descendantId 下级部门ID
+   * @return 是否存在关系
+   */
+  boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+}
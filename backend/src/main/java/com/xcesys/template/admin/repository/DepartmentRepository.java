@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -82,24 +83,42 @@ public interface DepartmentRepository extends JpaRepository<Department, Long>, J
    * @param deptId 部门ID
    * @return 部门列表
    */
-  @Query("SELECT d FROM Department d WHERE d.id = :deptId OR d.parentId = :deptId")
+  @Query("SELECT d FROM Department d, DepartmentClosure c WHERE c.ancestorId = :deptId AND d.id = c.descendantId")
   List<Department> findDeptAndChildren(@Param("deptId") Long deptId);
 
   /**
-   * 递归查询所有子部门
-   * <p>
-   * 注：此查询需要数据库支持递归查询，如MySQL 8.0+的WITH RECURSIVE语法
+   * 查询所有子部门ID
    *
    * @param deptId 部门ID
    * @return 子部门列表ID
    */
-  @Query(nativeQuery = true, value =
-      "WITH RECURSIVE dept_tree AS (" +
-          "  SELECT id, name, parent_id FROM sys_department WHERE id = :deptId " +
-          "  UNION ALL " +
-          "  SELECT d.id, d.name, d.parent_id FROM sys_department d " +
-          "  JOIN dept_tree dt ON dt.id = d.parent_id" +
-          ") " +
-          "SELECT id FROM dept_tree WHERE id != :deptId")
+  @Query("SELECT c.descendantId FROM DepartmentClosure c WHERE c.ancestorId = :deptId AND c.depth > 0")
   List<Long> findChildrenIds(@Param("deptId") Long deptId);
+
+  /**
+   * 查询指定部门集合及其所有子部门ID
+   *
+   * @param deptIds 部门ID集合
+   * @return 部门ID列表
+   */
+  @Query("SELECT DISTINCT c.descendantId FROM DepartmentClosure c WHERE c.ancestorId IN :deptIds")
+  List<Long> findSelfAndChildrenIds(@Param("deptIds") Collection<Long> deptIds);
+
+  /**
+   * 查询所有上级部门ID，由顶级部门到直接父部门排列
+   *
+   * @param deptId 部门ID
+   * @return 上级部门ID列表
+   */
+  @Query("SELECT c.ancestorId FROM DepartmentClosure c WHERE c.descendantId = :deptId AND c.depth > 0 ORDER BY c.depth DESC")
+  List<Long> findAncestorIds(@Param("deptId") Long deptId);
+
+  /**
+   * 查询当前租户和数据范围内已存在的部门ID
+   *
+   * @param deptIds 部门ID集合
+   * @return 已存在的部门ID列表
+   */
+  @Query("SELECT d.id FROM Department d WHERE d.id IN :deptIds")
+  List<Long> findExistingIds(@Param("deptIds") Collection<Long> deptIds);
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package com.xcesys.template.admin.repository;
 import com.xcesys.template.admin.entity.Menu;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -58,6 +61,90 @@ public interface MenuRepository extends JpaRepository<Menu, Long> {
      */
     @Query("SELECT DISTINCT m FROM Menu m JOIN m.roles r JOIN r.users u WHERE u.id = :userId AND m.visible = true AND m.enabled = true ORDER BY m.sort ASC")
     List<Menu> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * 根据角色ID集合查询可见且启用的菜单列表
+     *
+     * @param roleIds 角色ID集合
+     * @return 菜单列表
+     */
+    @Query("SELECT DISTINCT m FROM Menu m JOIN m.roles r WHERE r.id IN :roleIds AND m.visible = true AND m.enabled = true")
+    List<Menu> findVisibleByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * 判断是否存在子菜单
+     *
+     * @param parentId 父ID
+     * @return 是否存在
+     */
+    boolean existsByParentId(Long parentId);
+
+    /**
+     * 递归查询指定菜单及其所有子菜单
+     * <p>
+     * 注：此查询需要数据库支持递归查询，如MySQL 8.0+的WITH RECURSIVE语法
+     *
+     * @param menuId 菜单ID
+     * @return 菜单列表
+     */
+    @Query(nativeQuery = true, value =
+        "WITH RECURSIVE menu_tree AS (" +
+            "  SELECT id FROM sys_menu WHERE id = :menuId " +
+            "  UNION " +
+            "  SELECT m.id FROM sys_menu m " +
+            "  JOIN menu_tree mt ON mt.id = m.parent_id" +
+            ") " +
+            "SELECT m.* FROM sys_menu m JOIN menu_tree mt ON mt.id = m.id ORDER BY m.sort")
+    List<Menu> findSelfAndDescendants(@Param("menuId") Long menuId);
+
+    /**
+     * 递归查询所有子菜单ID
+     * <p>
+     * 注：此查询需要数据库支持递归查询，如MySQL 8.0+的WITH RECURSIVE语法
+     *
+     * @param menuId 菜单ID
+     * @return 子菜单ID列表
+     */
+    @Query(nativeQuery = true, value =
+        "WITH RECURSIVE menu_tree AS (" +
+            "  SELECT id FROM sys_menu WHERE id = :menuId " +
+            "  UNION " +
+            "  SELECT m.id FROM sys_menu m " +
+            "  JOIN menu_tree mt ON mt.id = m.parent_id" +
+            ") " +
+            "SELECT id FROM menu_tree WHERE id != :menuId")
+    List<Long> findDescendantIds(@Param("menuId") Long menuId);
+
+    /**
+     * 递归查询指定菜单及其所有上级菜单ID
+     * <p>
+     * 注：此查询需要数据库支持递归查询，如MySQL 8.0+的WITH RECURSIVE语法
+     *
+     * @param menuId 菜单ID
+     * @return 菜单ID列表（包含自身）
+     */
+    @Query(nativeQuery = true, value =
+        "WITH RECURSIVE menu_path AS (" +
+            "  SELECT id, parent_id FROM sys_menu WHERE id = :menuId " +
+            "  UNION " +
+            "  SELECT m.id, m.parent_id FROM sys_menu m " +
+            "  JOIN menu_path mp ON m.id = mp.parent_id" +
+            ") " +
+            "SELECT id FROM menu_path")
+    List<Long> findSelfAndAncestorIds(@Param("menuId") Long menuId);
+
+    /**
+     * 批量更新菜单状态
+     *
+     * @param ids     菜单ID集合
+     * @param enabled 状态
+     * @param now     更新时间
+     * @return 更新的记录数
+     */
+    @Modifying
+    @Query("UPDATE Menu m SET m.enabled = :enabled, m.updateTime = :now WHERE m.id IN :ids")
+    int updateEnabledByIds(@Param("ids") Collection<Long> ids, @Param("enabled") Boolean enabled,
+                           @Param("now") LocalDateTime now);
     
     /**
      * 根据权限编码查询菜单
@@ -0,0 +1,124 @@
+package com.xcesys.template.admin.repository;
+
+import com.xcesys.template.admin.dto.AssignmentResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 关联表数据访问
+ * 直接通过JDBC批量读写用户角色、角色权限、角色菜单关联表，只处理增量，
+ * 避免Hibernate清空集合后逐行重建
+ */
+@Repository
+@RequiredArgsConstructor
+public class RelationRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 查询所有者当前关联的目标ID
+   *
+   * @param relation 关联类型
+   * @param ownerId  所有者ID
+   * @return 目标ID集合
+   */
+  public Set<Long> findTargetIds(Relation relation, Long ownerId) {
+    String sql = "SELECT " + relation.getTargetColumn() + " FROM " + relation.getTable()
+        + " WHERE " + relation.getOwnerColumn() + " = ?";
+    return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, ownerId));
+  }
+
+  /**
+   * 将所有者的关联替换为给定的目标ID集合，只新增和删除差异部分
+   *
+   * @param relation  关联类型
+   * @param ownerId   所有者ID
+   * @param targetIds 目标ID集合
+   * @return 分配结果
+   */
+  public AssignmentResult replace(Relation relation, Long ownerId, Set<Long> targetIds) {
+    Set<Long> current = findTargetIds(relation, ownerId);
+    List<Long> toAdd = targetIds.stream().filter(id -> !current.contains(id)).toList();
+    List<Long> toRemove = current.stream().filter(id -> !targetIds.contains(id)).toList();
+    int removed = delete(relation, ownerId, toRemove);
+    int added = insert(relation, ownerId, toAdd);
+    return new AssignmentResult(added, removed);
+  }
+
+  /**
+   * 批量新增关联
+   *
+   * @param relation  关联类型
+   * @param ownerId   所有者ID
+   * @param targetIds 目标ID集合
+   * @return 新增的行数
+   */
+  public int insert(Relation relation, Long ownerId, Collection<Long> targetIds) {
+    String sql = "INSERT INTO " + relation.getTable() + " (" + relation.getOwnerColumn() + ", "
+        + relation.getTargetColumn() + ") VALUES (?, ?)";
+    return batchUpdate(sql, ownerId, targetIds);
+  }
+
+  /**
+   * 批量删除关联
+   *
+   * @param relation  关联类型
+   * @param ownerId   所有者ID
+   * @param targetIds 目标ID集合
+   * @return 删除的行数
+   */
+  public int delete(Relation relation, Long ownerId, Collection<Long> targetIds) {
+    String sql = "DELETE FROM " + relation.getTable() + " WHERE " + relation.getOwnerColumn() + " = ? AND "
+        + relation.getTargetColumn() + " = ?";
+    return batchUpdate(sql, ownerId, targetIds);
+  }
+
+  private int batchUpdate(String sql, Long ownerId, Collection<Long> targetIds) {
+    if (targetIds.isEmpty()) {
+      return 0;
+    }
+    List<Object[]> args = new ArrayList<>(targetIds.size());
+    targetIds.forEach(targetId -> args.add(new Object[]{ownerId, targetId}));
+    int rows = 0;
+    for (int count : jdbcTemplate.batchUpdate(sql, args)) {
+      // 驱动合并批量语句时返回SUCCESS_NO_INFO（-2），按一行计算
+      rows += count >= 0 ? count : 1;
+    }
+    return rows;
+  }
+
+  /**
+   * 关联类型
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public enum Relation {
+
+    /**
+     * 用户角色
+     */
+    USER_ROLE("sys_user_role", "user_id", "role_id"),
+
+    /**
+     * 角色权限
+     */
+    ROLE_PERMISSION("sys_role_permission", "role_id", "permission_id"),
+
+    /**
+     * 角色菜单
+     */
+    ROLE_MENU("sys_role_menu", "role_id", "menu_id");
+
+    private final String table;
+    private final String ownerColumn;
+    private final String targetColumn;
+  }
+}
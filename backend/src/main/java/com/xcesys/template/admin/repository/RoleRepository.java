@@ -4,6 +4,7 @@ import com.xcesys.template.admin.entity.Role;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +17,7 @@ import java.util.Set;
  * 角色数据访问接口
  */
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Long>, JpaSpecificationExecutor<Role> {
     
     /**
      * 根据角色编码查询角色
@@ -51,6 +52,32 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     @Query("SELECT r FROM Role r JOIN r.users u WHERE u.id = :userId")
     Set<Role> findByUserId(@Param("userId") Long userId);
     
+    /**
+     * 查询所有角色与权限的关联ID
+     *
+     * @return [角色ID, 权限ID]列表
+     */
+    @Query("SELECT r.id, p.id FROM Role r JOIN r.permissions p")
+    List<Object[]> findAllRolePermissionIds();
+
+    /**
+     * 查询角色拥有的权限ID
+     *
+     * @param roleId 角色ID
+     * @return 权限ID集合
+     */
+    @Query("SELECT p.id FROM Role r JOIN r.permissions p WHERE r.id = :roleId")
+    Set<Long> findPermissionIdsByRoleId(@Param("roleId") Long roleId);
+
+    /**
+     * 查询角色拥有的菜单ID
+     *
+     * @param roleId 角色ID
+     * @return 菜单ID集合
+     */
+    @Query("SELECT m.id FROM Role r JOIN r.menus m WHERE r.id = :roleId")
+    Set<Long> findMenuIdsByRoleId(@Param("roleId") Long roleId);
+
     /**
      * 根据角色名称模糊查询角色
      *
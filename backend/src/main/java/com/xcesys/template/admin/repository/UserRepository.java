@@ -3,11 +3,16 @@ package com.xcesys.template.admin.repository;
 import com.xcesys.template.admin.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +20,27 @@ import java.util.Optional;
  * 用户数据访问接口
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+
+    /**
+     * 根据ID查询用户，同时加载所属公司和部门
+     *
+     * @param id 用户ID
+     * @return 用户对象
+     */
+    @Override
+    @EntityGraph(attributePaths = {"company", "department"})
+    Optional<User> findById(Long id);
+
+    /**
+     * 分页查询用户，同时加载所属公司和部门
+     *
+     * @param pageable 分页参数
+     * @return 用户分页列表
+     */
+    @Override
+    @EntityGraph(attributePaths = {"company", "department"})
+    Page<User> findAll(Pageable pageable);
     
     /**
      * 根据用户名查询用户
@@ -24,6 +49,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return 用户对象
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * 更新用户密码
+     *
+     * @param id       用户ID
+     * @param password 已编码的密码
+     * @return 更新的记录数
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    /**
+     * 累加登录失败次数，达到最大次数时记录锁定时间
+     *
+     * @param username    用户名
+     * @param delta       新增失败次数
+     * @param maxAttempts 最大失败次数
+     * @param now         当前时间
+     * @return 更新的记录数
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.loginFailCount = COALESCE(u.loginFailCount, 0) + :delta, "
+            + "u.lockTime = CASE WHEN COALESCE(u.loginFailCount, 0) + :delta >= :maxAttempts THEN :now ELSE u.lockTime END "
+            + "WHERE u.username = :username")
+    int incrementLoginFailCount(@Param("username") String username, @Param("delta") int delta,
+                                @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    /**
+     * 清零登录失败次数并解除锁定
+     *
+     * @param usernames 用户名集合
+     * @return 更新的记录数
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.loginFailCount = 0, u.lockTime = NULL WHERE u.username IN :usernames")
+    int resetLoginFailCount(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 根据用户名查询用户，并在同一条查询中加载角色及角色权限，用于登录
+     *
+     * @param username 用户名
+     * @return 用户对象
+     */
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    Optional<User> findWithRolesByUsername(String username);
     
     /**
      * 判断用户名是否存在
@@ -33,6 +104,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByUsername(String username);
     
+    /**
+     * 查询已存在的用户名
+     *
+     * @param usernames 用户名集合
+     * @return 已存在的用户名列表
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 查询已存在的邮箱
+     *
+     * @param emails 邮箱集合
+     * @return 已存在的邮箱列表
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * 查询已存在的手机号
+     *
+     * @param phones 手机号集合
+     * @return 已存在的手机号列表
+     */
+    @Query("SELECT u.phone FROM User u WHERE u.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
     /**
      * 判断邮箱是否存在
      *
@@ -66,6 +164,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.id = :roleId")
     List<User> findByRoleId(@Param("roleId") Long roleId);
     
+    /**
+     * 查询所有用户与角色的关联ID
+     *
+     * @return [用户ID, 角色ID]列表
+     */
+    @Query("SELECT u.id, r.id FROM User u JOIN u.roles r")
+    List<Object[]> findAllUserRoleIds();
+
+    /**
+     * 查询所有已停用用户的ID
+     *
+     * @return 用户ID列表
+     */
+    @Query("SELECT u.id FROM User u WHERE u.enabled = false")
+    List<Long> findDisabledIds();
+
+    /**
+     * 查询所有已分配部门的用户与部门ID
+     *
+     * @return [用户ID, 部门ID]列表
+     */
+    @Query("SELECT u.id, u.departmentId FROM User u WHERE u.departmentId IS NOT NULL")
+    List<Object[]> findAllUserDepartmentIds();
+
     /**
      * 根据用户名或昵称模糊查询用户
      *
@@ -73,8 +195,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param pageable 分页参数
      * @return 用户分页列表
      */
+    @EntityGraph(attributePaths = {"company", "department"})
     @Query("SELECT u FROM User u WHERE u.username LIKE %:keyword% OR u.nickname LIKE %:keyword%")
     Page<User> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * 通过全文索引检索用户，按相关度排序
+     * 全文检索不经过实体关联，显式限定公司ID，租户ID为null时不限制
+     *
+     * @param query    布尔模式查询串
+     * @param tenantId 租户ID
+     * @param pageable 分页参数
+     * @return 用户分页列表
+     */
+    @EntityGraph(attributePaths = {"company", "department"})
+    @Query(value = "SELECT u FROM User u WHERE (:tenantId IS NULL OR u.companyId = :tenantId) "
+            + "AND match_against(u.username, u.nickname, :query) > 0 "
+            + "ORDER BY match_against(u.username, u.nickname, :query) DESC, u.id DESC",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE (:tenantId IS NULL OR u.companyId = :tenantId) "
+                    + "AND match_against(u.username, u.nickname, :query) > 0")
+    Page<User> searchByFulltext(@Param("query") String query, @Param("tenantId") Long tenantId, Pageable pageable);
+
+    /**
+     * 查询用户名和昵称上的全文索引数量
+     *
+     * @return 索引列数，索引不存在时为0
+     */
+    @Query(value = "SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() "
+            + "AND TABLE_NAME = 'sys_user' AND INDEX_NAME = 'ft_user_keyword'", nativeQuery = true)
+    long countKeywordFulltextIndex();
     
     /**
      * 根据部门ID和用户状态查询用户列表
@@ -84,5 +233,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param pageable 分页参数
      * @return 用户分页列表
      */
+    @EntityGraph(attributePaths = {"company", "department"})
     Page<User> findByDepartmentIdAndEnabled(Long deptId, Boolean enabled, Pageable pageable);
 }
\ No newline at end of file
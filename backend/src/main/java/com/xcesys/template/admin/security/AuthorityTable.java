@@ -0,0 +1,111 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.InvalidationListener;
+import com.xcesys.template.admin.entity.Permission;
+import com.xcesys.template.admin.entity.Role;
+import com.xcesys.template.admin.repository.PermissionRepository;
+import com.xcesys.template.admin.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 权限驻留表
+ * <p>
+ * 在内存中维护全部权限编码和角色编码，每个权限字符串只保留一个GrantedAuthority实例，
+ * 认证对象中的权限列表共享这些实例。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorityTable implements InvalidationListener {
+
+  /**
+   * 角色权限前缀
+   */
+  public static final String ROLE_PREFIX = "ROLE_";
+
+  /**
+   * 管理员角色编码
+   */
+  public static final String ADMIN = "admin";
+
+  private final PermissionRepository permissionRepository;
+  private final RoleRepository roleRepository;
+
+  private volatile Map<String, GrantedAuthority> interned;
+
+  /**
+   * 应用启动后加载权限表
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    refresh();
+  }
+
+  /**
+   * 其他节点的角色或权限变更后重新加载权限表
+   *
+   * @param event 缓存失效事件
+   */
+  @Override
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationEvent.Type.ROLE || event.type() == InvalidationEvent.Type.PERMISSION) {
+      refresh();
+    }
+  }
+
+  @Override
+  public void reloadAll() {
+    refresh();
+  }
+
+  /**
+   * 从数据库重新加载权限表
+   */
+  public synchronized void refresh() {
+    Map<String, GrantedAuthority> loaded = new HashMap<>();
+    for (Permission permission : permissionRepository.findAll()) {
+      loaded.computeIfAbsent(permission.getCode(), SimpleGrantedAuthority::new);
+    }
+    for (Role role : roleRepository.findAll()) {
+      loaded.computeIfAbsent(ROLE_PREFIX + role.getCode(), SimpleGrantedAuthority::new);
+    }
+    loaded.computeIfAbsent(ADMIN, SimpleGrantedAuthority::new);
+
+    this.interned = loaded;
+    log.debug("Authority table loaded: {} authorities", loaded.size());
+  }
+
+  /**
+   * 获取驻留的权限对象
+   *
+   * @param authority 权限字符串
+   * @return 权限对象
+   */
+  public GrantedAuthority intern(String authority) {
+    GrantedAuthority cached = interned().get(authority);
+    return cached != null ? cached : new SimpleGrantedAuthority(authority);
+  }
+
+  private Map<String, GrantedAuthority> interned() {
+    Map<String, GrantedAuthority> current = interned;
+    if (current == null) {
+      synchronized (this) {
+        if (interned == null) {
+          refresh();
+        }
+        current = interned;
+      }
+    }
+    return current;
+  }
+}
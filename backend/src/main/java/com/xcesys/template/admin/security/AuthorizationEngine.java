@@ -0,0 +1,601 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.InvalidationListener;
+import com.xcesys.template.admin.entity.Permission;
+import com.xcesys.template.admin.entity.Role;
+import com.xcesys.template.admin.entity.User;
+import com.xcesys.template.admin.repository.PermissionRepository;
+import com.xcesys.template.admin.repository.RelationRepository;
+import com.xcesys.template.admin.repository.RoleRepository;
+import com.xcesys.template.admin.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内存授权引擎
+ * <p>
+ * 在内存中维护用户→角色→权限关系图：权限编码映射为稠密整数下标，角色的权限集合以位图保存，
+ * 权限校验只需若干次按字的位运算，不再访问数据库。
+ * 启动时全量加载，角色分配、权限分配、启用停用等变更在事务提交后增量更新。
+ * 每次变更都会推进授权版本号，访问令牌据此判断按令牌缓存的认证对象是否需要重新计算。
+ * 其他节点的变更通过缓存失效事件到达，按ID从数据库重新加载对应的用户、角色或权限。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorizationEngine implements InvalidationListener {
+
+  private final PermissionRepository permissionRepository;
+  private final RoleRepository roleRepository;
+  private final UserRepository userRepository;
+  private final RelationRepository relationRepository;
+
+  private volatile State state;
+
+  /**
+   * 授权版本号计数器，角色、权限和用户授权的变更共用，保证同一用户的版本号单调递增
+   */
+  private final AtomicLong versions = new AtomicLong();
+
+  /**
+   * 最近一次角色或权限变更的版本号，这类变更影响所有用户
+   */
+  private volatile long roleVersion;
+
+  /**
+   * 应用启动后加载授权关系
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    reload();
+  }
+
+  /**
+   * 从数据库全量重建授权关系
+   */
+  public synchronized void reload() {
+    State loaded = new State();
+    for (Permission permission : permissionRepository.findAll()) {
+      loaded.putPermission(permission.getId(), permission.getCode());
+    }
+
+    Map<Long, BitSet> rolePermissions = new HashMap<>();
+    for (Object[] row : roleRepository.findAllRolePermissionIds()) {
+      Integer index = loaded.permissionIndex.get((Long) row[1]);
+      if (index != null) {
+        rolePermissions.computeIfAbsent((Long) row[0], id -> new BitSet()).set(index);
+      }
+    }
+    for (Role role : roleRepository.findAll()) {
+      BitSet permissions = rolePermissions.getOrDefault(role.getId(), new BitSet());
+      loaded.roles.put(role.getId(), new RoleGrant(role.getCode(), permissions, DataScope.of(role.getDataScope())));
+    }
+
+    Map<Long, Set<Long>> userRoles = new HashMap<>();
+    for (Object[] row : userRepository.findAllUserRoleIds()) {
+      userRoles.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+    }
+    Set<Long> disabledUsers = new HashSet<>(userRepository.findDisabledIds());
+    Map<Long, Long> userDepartments = new HashMap<>();
+    for (Object[] row : userRepository.findAllUserDepartmentIds()) {
+      userDepartments.put((Long) row[0], (Long) row[1]);
+    }
+    long version = versions.incrementAndGet();
+    Set<Long> userIds = new HashSet<>(userRoles.keySet());
+    userIds.addAll(disabledUsers);
+    userIds.addAll(userDepartments.keySet());
+    for (Long userId : userIds) {
+      long[] roleIds = toArray(userRoles.getOrDefault(userId, Collections.emptySet()));
+      loaded.users.put(userId, new UserGrant(roleIds, !disabledUsers.contains(userId), userDepartments.get(userId),
+          version));
+    }
+
+    this.state = loaded;
+    this.roleVersion = version;
+    log.info("Authorization engine loaded: {} permissions, {} roles, {} users",
+        loaded.permissionIndex.size(), loaded.roles.size(), loaded.users.size());
+  }
+
+  /**
+   * 应用其他节点的授权变更
+   *
+   * @param event 缓存失效事件
+   */
+  @Override
+  public void onInvalidation(InvalidationEvent event) {
+    switch (event.type()) {
+      case USER -> {
+        if (event.id() == null) {
+          reload();
+        } else {
+          reloadUser(event.id());
+        }
+      }
+      case ROLE -> {
+        if (event.id() == null) {
+          reload();
+        } else {
+          reloadRole(event.id());
+        }
+      }
+      case PERMISSION -> {
+        if (event.id() == null) {
+          reload();
+        } else {
+          reloadPermission(event.id());
+        }
+      }
+      default -> {
+      }
+    }
+  }
+
+  @Override
+  public void reloadAll() {
+    reload();
+  }
+
+  /**
+   * 从数据库重新加载用户的角色、启用状态和所属部门，用户不存在时移除
+   *
+   * @param userId 用户ID
+   */
+  public void reloadUser(Long userId) {
+    Optional<User> user = userRepository.findById(userId);
+    if (user.isEmpty()) {
+      removeUser(userId);
+      return;
+    }
+    Set<Long> roleIds = relationRepository.findTargetIds(RelationRepository.Relation.USER_ROLE, userId);
+    synchronized (this) {
+      state().users.put(userId, new UserGrant(toArray(roleIds), Boolean.TRUE.equals(user.get().getEnabled()),
+          user.get().getDepartmentId(), versions.incrementAndGet()));
+    }
+  }
+
+  /**
+   * 从数据库重新加载角色及其权限，角色不存在时移除
+   *
+   * @param roleId 角色ID
+   */
+  public void reloadRole(Long roleId) {
+    Optional<Role> role = roleRepository.findById(roleId);
+    if (role.isEmpty()) {
+      removeRole(roleId);
+      return;
+    }
+    Set<Long> permissionIds = relationRepository.findTargetIds(RelationRepository.Relation.ROLE_PERMISSION, roleId);
+    synchronized (this) {
+      State current = state();
+      BitSet permissions = new BitSet();
+      for (Long permissionId : permissionIds) {
+        Integer index = current.permissionIndex.get(permissionId);
+        if (index != null) {
+          permissions.set(index);
+        }
+      }
+      current.roles.put(roleId, new RoleGrant(role.get().getCode(), permissions,
+          DataScope.of(role.get().getDataScope())));
+      roleVersion = versions.incrementAndGet();
+    }
+  }
+
+  /**
+   * 从数据库重新加载权限编码，权限不存在时移除
+   *
+   * @param permissionId 权限ID
+   */
+  public void reloadPermission(Long permissionId) {
+    Optional<Permission> permission = permissionRepository.findById(permissionId);
+    if (permission.isPresent()) {
+      putPermission(permissionId, permission.get().getCode());
+    } else {
+      removePermission(permissionId);
+    }
+  }
+
+  /**
+   * 校验用户是否具有指定权限
+   *
+   * @param userId          用户ID
+   * @param permissionCodes 权限编码列表
+   * @param requireAll      是否需要满足所有权限
+   * @return 是否有权限
+   */
+  public boolean hasPermission(Long userId, Collection<String> permissionCodes, boolean requireAll) {
+    // 空的权限要求：需满足全部时视为满足，满足任一时视为不满足，与用户是否存在无关
+    if (permissionCodes.isEmpty()) {
+      return requireAll;
+    }
+    State current = state();
+    UserGrant user = current.users.get(userId);
+    if (user == null || !user.enabled()) {
+      return false;
+    }
+    BitSet granted = current.grantedPermissions(user);
+
+    // 校验用户是否有管理员权限
+    Integer admin = current.codeIndex.get(AuthorityTable.ADMIN);
+    if (admin != null && granted.get(admin)) {
+      return true;
+    }
+
+    BitSet required = new BitSet();
+    for (String code : permissionCodes) {
+      Integer index = current.codeIndex.get(code);
+      if (index != null) {
+        required.set(index);
+      } else if (requireAll) {
+        return false;
+      }
+    }
+    if (requireAll) {
+      required.andNot(granted);
+      return required.isEmpty();
+    }
+    return required.intersects(granted);
+  }
+
+  /**
+   * 获取用户的权限编码
+   *
+   * @param userId 用户ID
+   * @return 权限编码集合
+   */
+  public Set<String> getPermissionCodes(Long userId) {
+    State current = state();
+    UserGrant user = current.users.get(userId);
+    if (user == null) {
+      return Collections.emptySet();
+    }
+    BitSet granted = current.grantedPermissions(user);
+    Set<String> codes = new HashSet<>(granted.cardinality() * 2);
+    for (int index = granted.nextSetBit(0); index >= 0; index = granted.nextSetBit(index + 1)) {
+      String code = current.codes.get(index);
+      if (code != null) {
+        codes.add(code);
+      }
+    }
+    return codes;
+  }
+
+  /**
+   * 获取用户的角色编码
+   *
+   * @param userId 用户ID
+   * @return 角色编码集合
+   */
+  public Set<String> getRoleCodes(Long userId) {
+    State current = state();
+    UserGrant user = current.users.get(userId);
+    if (user == null) {
+      return Collections.emptySet();
+    }
+    Set<String> codes = new HashSet<>();
+    for (long roleId : user.roleIds()) {
+      RoleGrant role = current.roles.get(roleId);
+      if (role != null) {
+        codes.add(role.code());
+      }
+    }
+    return codes;
+  }
+
+  /**
+   * 获取用户的角色ID
+   *
+   * @param userId 用户ID
+   * @return 角色ID集合
+   */
+  public Set<Long> getRoleIds(Long userId) {
+    UserGrant user = state().users.get(userId);
+    if (user == null) {
+      return Collections.emptySet();
+    }
+    Set<Long> roleIds = new HashSet<>();
+    for (long roleId : user.roleIds()) {
+      roleIds.add(roleId);
+    }
+    return roleIds;
+  }
+
+  /**
+   * 获取用户所属部门ID
+   *
+   * @param userId 用户ID
+   * @return 部门ID，未分配部门时返回null
+   */
+  public Long getDepartmentId(Long userId) {
+    UserGrant user = state().users.get(userId);
+    return user == null ? null : user.departmentId();
+  }
+
+  /**
+   * 获取用户各角色的数据范围，管理员角色视为全部数据权限
+   *
+   * @param userId 用户ID
+   * @return 数据范围集合
+   */
+  public Set<DataScope> getDataScopes(Long userId) {
+    State current = state();
+    UserGrant user = current.users.get(userId);
+    if (user == null) {
+      return Collections.emptySet();
+    }
+    Set<DataScope> scopes = EnumSet.noneOf(DataScope.class);
+    for (long roleId : user.roleIds()) {
+      RoleGrant role = current.roles.get(roleId);
+      if (role != null) {
+        scopes.add(AuthorityTable.ADMIN.equalsIgnoreCase(role.code()) ? DataScope.ALL : role.dataScope());
+      }
+    }
+    return scopes;
+  }
+
+  /**
+   * 判断用户是否处于启用状态，没有任何授权记录的用户视为启用
+   *
+   * @param userId 用户ID
+   * @return 是否启用
+   */
+  public boolean isUserEnabled(Long userId) {
+    UserGrant user = state().users.get(userId);
+    return user == null || user.enabled();
+  }
+
+  /**
+   * 获取用户的权限标识：角色编码加ROLE_前缀、权限编码，拥有管理员角色时追加管理员权限。
+   * 与登录时从数据库加载的权限一致，停用的用户没有任何权限
+   *
+   * @param userId 用户ID
+   * @return 权限标识集合
+   */
+  public Set<String> getAuthorityCodes(Long userId) {
+    if (!isUserEnabled(userId)) {
+      return Collections.emptySet();
+    }
+    Set<String> roleCodes = getRoleCodes(userId);
+    Set<String> authorities = new HashSet<>(getPermissionCodes(userId));
+    for (String code : roleCodes) {
+      authorities.add(AuthorityTable.ROLE_PREFIX + code);
+      if (AuthorityTable.ADMIN.equalsIgnoreCase(code)) {
+        authorities.add(AuthorityTable.ADMIN);
+      }
+    }
+    return authorities;
+  }
+
+  /**
+   * 获取用户当前的授权版本号，用户的角色、启用状态、部门或任一角色权限变化后版本号都会改变
+   *
+   * @param userId 用户ID
+   * @return 授权版本号
+   */
+  public long getAuthorityVersion(Long userId) {
+    long version = state().version(userId);
+    return Math.max(version, roleVersion);
+  }
+
+  /**
+   * 新增或更新权限编码
+   *
+   * @param permissionId 权限ID
+   * @param code         权限编码
+   */
+  public synchronized void putPermission(Long permissionId, String code) {
+    state().putPermission(permissionId, code);
+    roleVersion = versions.incrementAndGet();
+  }
+
+  /**
+   * 移除权限
+   *
+   * @param permissionId 权限ID
+   */
+  public synchronized void removePermission(Long permissionId) {
+    State current = state();
+    Integer index = current.permissionIndex.remove(permissionId);
+    if (index != null) {
+      String code = current.codes.set(index, null);
+      if (code != null) {
+        current.codeIndex.remove(code, index);
+      }
+      current.roles.replaceAll((roleId, role) -> role.without(index));
+    }
+    roleVersion = versions.incrementAndGet();
+  }
+
+  /**
+   * 新增或更新角色，保留已分配的权限
+   *
+   * @param roleId    角色ID
+   * @param code      角色编码
+   * @param dataScope 数据范围编码
+   */
+  public synchronized void putRole(Long roleId, String code, Integer dataScope) {
+    State current = state();
+    RoleGrant role = current.roles.get(roleId);
+    current.roles.put(roleId, new RoleGrant(code, role != null ? role.permissions() : new BitSet(),
+        DataScope.of(dataScope)));
+    roleVersion = versions.incrementAndGet();
+  }
+
+  /**
+   * 移除角色
+   *
+   * @param roleId 角色ID
+   */
+  public synchronized void removeRole(Long roleId) {
+    state().roles.remove(roleId);
+    roleVersion = versions.incrementAndGet();
+  }
+
+  /**
+   * 设置角色的权限
+   *
+   * @param roleId        角色ID
+   * @param permissionIds 权限ID集合
+   */
+  public synchronized void setRolePermissions(Long roleId, Collection<Long> permissionIds) {
+    State current = state();
+    BitSet permissions = new BitSet();
+    for (Long permissionId : permissionIds) {
+      Integer index = current.permissionIndex.get(permissionId);
+      if (index != null) {
+        permissions.set(index);
+      }
+    }
+    RoleGrant role = current.roles.get(roleId);
+    if (role != null) {
+      current.roles.put(roleId, new RoleGrant(role.code(), permissions, role.dataScope()));
+    }
+    roleVersion = versions.incrementAndGet();
+  }
+
+  /**
+   * 设置用户的角色
+   *
+   * @param userId  用户ID
+   * @param roleIds 角色ID集合
+   */
+  public synchronized void setUserRoles(Long userId, Collection<Long> roleIds) {
+    State current = state();
+    UserGrant user = current.users.get(userId);
+    current.users.put(userId, new UserGrant(toArray(roleIds), user == null || user.enabled(),
+        user != null ? user.departmentId() : null, versions.incrementAndGet()));
+  }
+
+  /**
+   * 设置用户启用状态
+   *
+   * @param userId  用户ID
+   * @param enabled 是否启用
+   */
+  public synchronized void setUserEnabled(Long userId, boolean enabled) {
+    State current = state();
+    UserGrant user = current.users.get(userId);
+    current.users.put(userId, new UserGrant(user != null ? user.roleIds() : new long[0], enabled,
+        user != null ? user.departmentId() : null, versions.incrementAndGet()));
+  }
+
+  /**
+   * 设置用户所属部门
+   *
+   * @param userId       用户ID
+   * @param departmentId 部门ID
+   */
+  public synchronized void setUserDepartment(Long userId, Long departmentId) {
+    State current = state();
+    UserGrant user = current.users.get(userId);
+    current.users.put(userId, new UserGrant(user != null ? user.roleIds() : new long[0],
+        user == null || user.enabled(), departmentId, versions.incrementAndGet()));
+  }
+
+  /**
+   * 移除用户，保留停用标记使已签发的访问令牌立即失去权限，下次全量加载时清除
+   *
+   * @param userId 用户ID
+   */
+  public synchronized void removeUser(Long userId) {
+    state().users.put(userId, new UserGrant(new long[0], false, null, versions.incrementAndGet()));
+  }
+
+  private State state() {
+    State current = state;
+    if (current == null) {
+      synchronized (this) {
+        if (state == null) {
+          reload();
+        }
+        current = state;
+      }
+    }
+    return current;
+  }
+
+  private static long[] toArray(Collection<Long> ids) {
+    return ids.stream().filter(id -> id != null).mapToLong(Long::longValue).distinct().toArray();
+  }
+
+  /**
+   * 角色授权：角色编码、权限位图（位图创建后不再修改）和数据范围
+   */
+  private record RoleGrant(String code, BitSet permissions, DataScope dataScope) {
+
+    RoleGrant without(int index) {
+      if (!permissions.get(index)) {
+        return this;
+      }
+      BitSet copy = (BitSet) permissions.clone();
+      copy.clear(index);
+      return new RoleGrant(code, copy, dataScope);
+    }
+  }
+
+  /**
+   * 用户授权：角色ID、启用状态、所属部门和最近一次变更的版本号
+   */
+  private record UserGrant(long[] roleIds, boolean enabled, Long departmentId, long version) {
+  }
+
+  /**
+   * 授权关系状态
+   */
+  private static final class State {
+
+    private final Map<Long, Integer> permissionIndex = new ConcurrentHashMap<>();
+    private final Map<String, Integer> codeIndex = new ConcurrentHashMap<>();
+    private final List<String> codes = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Long, RoleGrant> roles = new ConcurrentHashMap<>();
+    private final Map<Long, UserGrant> users = new ConcurrentHashMap<>();
+
+    void putPermission(Long permissionId, String code) {
+      Integer index = permissionIndex.get(permissionId);
+      if (index == null) {
+        index = codes.size();
+        codes.add(code);
+        permissionIndex.put(permissionId, index);
+      } else {
+        String previous = codes.set(index, code);
+        if (previous != null && !previous.equals(code)) {
+          codeIndex.remove(previous, index);
+        }
+      }
+      codeIndex.put(code, index);
+    }
+
+    long version(Long userId) {
+      UserGrant user = users.get(userId);
+      return user == null ? 0 : user.version();
+    }
+
+    BitSet grantedPermissions(UserGrant user) {
+      BitSet granted = new BitSet();
+      for (long roleId : user.roleIds()) {
+        RoleGrant role = roles.get(roleId);
+        if (role != null) {
+          granted.or(role.permissions());
+        }
+      }
+      return granted;
+    }
+  }
+}
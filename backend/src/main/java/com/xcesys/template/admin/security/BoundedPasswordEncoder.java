@@ -0,0 +1,245 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 有界密码编码器
+ * 对BCrypt等CPU密集的哈希计算做并发限制：同时计算的数量不超过专用线程池大小，排队数量不超过队列容量。
+ * 调用线程仍同步等待哈希结果（最长为等待超时时间），这不是异步处理；
+ * 队列已满或等待超时时快速失败，登录高峰时多余的请求立即返回503，而不是全部堆积在CPU上。
+ * 批量创建用户的哈希计算使用另一个较小的线程池，不占用登录使用的线程和等待队列
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final ThreadPoolExecutor bulkExecutor;
+  private final int bulkPoolSize;
+  private final long timeoutMillis;
+
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejectedCounter;
+  private final Counter timeoutCounter;
+
+  /**
+   * 构造函数
+   *
+   * @param delegate      实际执行哈希计算的编码器
+   * @param threads       哈希线程数，小于等于0时使用CPU核数
+   * @param queueCapacity 等待队列容量
+   * @param timeoutMillis 等待哈希结果的最长时间（毫秒）
+   * @param bulkThreads   批量哈希线程数，小于等于0时使用CPU核数的一半（至少1个）
+   * @param meterRegistry 指标注册表，记录哈希耗时（不含排队时间）、拒绝和超时次数以及线程池状态
+   */
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis,
+                                int bulkThreads, MeterRegistry meterRegistry) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.delegate = delegate;
+    this.timeoutMillis = timeoutMillis;
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new HashingThreadFactory("password-hash-"),
+        new ThreadPoolExecutor.AbortPolicy());
+    // 批量线程池繁忙时由调用线程自行计算，批量任务只会变慢，不会失败
+    this.bulkPoolSize = bulkThreads > 0 ? bulkThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    this.bulkExecutor = new ThreadPoolExecutor(bulkPoolSize, bulkPoolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(bulkPoolSize), new HashingThreadFactory("password-hash-bulk-"),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    this.encodeTimer = hashTimer(meterRegistry, "encode");
+    this.matchesTimer = hashTimer(meterRegistry, "matches");
+    this.rejectedCounter = failureCounter(meterRegistry, "rejected");
+    this.timeoutCounter = failureCounter(meterRegistry, "timeout");
+    Gauge.builder("security.password.hashing.queued", this, BoundedPasswordEncoder::getQueueDepth)
+        .description("Password hashing tasks waiting for a thread")
+        .register(meterRegistry);
+    Gauge.builder("security.password.hashing.active", this, BoundedPasswordEncoder::getActiveCount)
+        .description("Password hashing threads currently computing a hash")
+        .register(meterRegistry);
+    log.info("Password hashing executor started with {} threads and queue capacity {}, {} bulk threads",
+        poolSize, queueCapacity, bulkPoolSize);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return execute(encodeTimer, () -> delegate.encode(rawPassword));
+  }
+
+  /**
+   * 批量编码密码，用于批量创建和导入用户
+   * 按批量线程数分片后在批量线程池中计算，调用线程等待全部完成，不受等待超时限制
+   *
+   * @param rawPasswords 明文密码列表
+   * @return 与输入顺序一致的密码哈希列表
+   */
+  public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+    int sliceSize = Math.max(1, (rawPasswords.size() + bulkPoolSize - 1) / bulkPoolSize);
+    List<Future<List<String>>> futures = new ArrayList<>();
+    for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+      List<? extends CharSequence> slice = rawPasswords.subList(from, Math.min(from + sliceSize, rawPasswords.size()));
+      futures.add(bulkExecutor.submit(() -> slice.stream()
+          .map(rawPassword -> encodeTimer.record(() -> delegate.encode(rawPassword)))
+          .toList()));
+    }
+
+    List<String> encoded = new ArrayList<>(rawPasswords.size());
+    try {
+      for (Future<List<String>> future : futures) {
+        encoded.addAll(future.get());
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new ServiceBusyException("系统繁忙，请稍后重试");
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(cause);
+    }
+    return encoded;
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * 获取已完成的哈希计算次数
+   */
+  public long getHashCount() {
+    return encodeTimer.count() + matchesTimer.count();
+  }
+
+  /**
+   * 获取哈希计算的平均耗时（毫秒）
+   */
+  public double getAverageHashMillis() {
+    long count = getHashCount();
+    return count == 0 ? 0
+        : (encodeTimer.totalTime(TimeUnit.MILLISECONDS) + matchesTimer.totalTime(TimeUnit.MILLISECONDS)) / count;
+  }
+
+  /**
+   * 获取因队列已满被拒绝的次数
+   */
+  public long getRejectedCount() {
+    return (long) rejectedCounter.count();
+  }
+
+  /**
+   * 获取等待超时的次数
+   */
+  public long getTimeoutCount() {
+    return (long) timeoutCounter.count();
+  }
+
+  /**
+   * 获取当前排队等待的任务数
+   */
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * 获取正在执行哈希计算的线程数
+   */
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+    bulkExecutor.shutdown();
+  }
+
+  private <T> T execute(Timer timer, Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timer.recordCallable(task));
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new ServiceBusyException("系统繁忙，请稍后重试");
+    }
+
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      timeoutCounter.increment();
+      throw new ServiceBusyException("系统繁忙，请稍后重试");
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceBusyException("系统繁忙，请稍后重试");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder("security.password.hashing")
+        .description("Password hash computation time, excluding time spent queued")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+
+  private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder("security.password.hashing.failures")
+        .description("Password hashing requests failed fast because the executor was saturated")
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 哈希线程工厂
+   */
+  private static class HashingThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    HashingThreadFactory(String namePrefix) {
+      this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.xcesys.template.admin.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 角色数据范围
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DataScope {
+
+  /**
+   * 全部数据权限
+   */
+  ALL(1),
+
+  /**
+   * 自定数据权限，当前没有角色与部门的关联配置，按公司范围（仅租户隔离）处理
+   */
+  CUSTOM(2),
+
+  /**
+   * 本部门数据权限
+   */
+  DEPT(3),
+
+  /**
+   * 本部门及以下数据权限
+   */
+  DEPT_AND_CHILD(4),
+
+  /**
+   * 仅本人数据权限
+   */
+  SELF(5);
+
+  private final int code;
+
+  /**
+   * 根据编码获取数据范围，未知编码按全部数据权限处理，与Role.dataScope的默认值一致
+   *
+   * @param code 数据范围编码
+   * @return 数据范围
+   */
+  public static DataScope of(Integer code) {
+    if (code != null) {
+      for (DataScope scope : values()) {
+        if (scope.code == code) {
+          return scope;
+        }
+      }
+    }
+    return ALL;
+  }
+}
@@ -0,0 +1,46 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.repository.DepartmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 数据范围编译器
+ * 将用户各角色的数据范围合并为一个允许访问的部门ID集合，多个角色取并集
+ */
+@Component
+@RequiredArgsConstructor
+public class DataScopeCompiler {
+
+  private final AuthorizationEngine authorizationEngine;
+  private final DepartmentRepository departmentRepository;
+
+  /**
+   * 编译用户的数据范围
+   *
+   * @param userId 用户ID
+   * @return 数据范围过滤条件
+   */
+  public DataScopeFilter compile(Long userId) {
+    Set<DataScope> scopes = authorizationEngine.getDataScopes(userId);
+    if (scopes.contains(DataScope.ALL) || scopes.contains(DataScope.CUSTOM)) {
+      return DataScopeFilter.UNRESTRICTED;
+    }
+
+    Set<Long> deptIds = new HashSet<>();
+    Long deptId = authorizationEngine.getDepartmentId(userId);
+    if (deptId != null) {
+      if (scopes.contains(DataScope.DEPT_AND_CHILD)) {
+        // 通过部门闭包表一次查询得到整棵子树
+        deptIds.addAll(departmentRepository.findSelfAndChildrenIds(List.of(deptId)));
+      } else if (scopes.contains(DataScope.DEPT)) {
+        deptIds.add(deptId);
+      }
+    }
+    return new DataScopeFilter(false, Set.copyOf(deptIds), userId);
+  }
+}
@@ -0,0 +1,34 @@
+package com.xcesys.template.admin.security;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * 编译后的数据范围过滤条件
+ * 认证时根据用户角色的数据范围一次性计算，随认证对象缓存，查询时作为Hibernate过滤器参数使用
+ *
+ * @param unrestricted 是否不限制数据范围
+ * @param deptIds      允许访问的部门ID集合
+ * @param userId       当前用户ID，用户本人的数据始终可见
+ */
+public record DataScopeFilter(boolean unrestricted, Set<Long> deptIds, Long userId) implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * 不限制数据范围
+   */
+  public static final DataScopeFilter UNRESTRICTED = new DataScopeFilter(true, Set.of(), null);
+
+  /**
+   * Hibernate用户数据范围过滤器名称
+   */
+  public static final String USER_FILTER = "dataScopeUserFilter";
+
+  /**
+   * Hibernate部门数据范围过滤器名称
+   */
+  public static final String DEPT_FILTER = "dataScopeDeptFilter";
+}
@@ -0,0 +1,73 @@
+package com.xcesys.template.admin.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的登录失败计数存储，适用于单节点部署
+ */
+@Component
+@ConditionalOnProperty(name = "app.login.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+  private final Map<String, Deque<Long>> attempts = new ConcurrentHashMap<>();
+
+  @Value("${app.login.lock-duration:300}")
+  private long lockDuration;
+
+  @Override
+  public int recordFailure(String key, long windowSeconds) {
+    long now = System.currentTimeMillis();
+    Deque<Long> timestamps = attempts.computeIfAbsent(key, k -> new ArrayDeque<>());
+    synchronized (timestamps) {
+      prune(timestamps, now - windowSeconds * 1000);
+      timestamps.addLast(now);
+      return timestamps.size();
+    }
+  }
+
+  @Override
+  public int getFailureCount(String key, long windowSeconds) {
+    Deque<Long> timestamps = attempts.get(key);
+    if (timestamps == null) {
+      return 0;
+    }
+    synchronized (timestamps) {
+      prune(timestamps, System.currentTimeMillis() - windowSeconds * 1000);
+      return timestamps.size();
+    }
+  }
+
+  @Override
+  public void reset(String key) {
+    attempts.remove(key);
+  }
+
+  /**
+   * 定期清理窗口外的失败记录，避免大量随机用户名占用内存
+   */
+  @Scheduled(fixedDelayString = "${app.login.cleanup-interval:60000}")
+  public void cleanup() {
+    long threshold = System.currentTimeMillis() - lockDuration * 1000;
+    attempts.entrySet().removeIf(entry -> {
+      Deque<Long> timestamps = entry.getValue();
+      synchronized (timestamps) {
+        prune(timestamps, threshold);
+        return timestamps.isEmpty();
+      }
+    });
+  }
+
+  private static void prune(Deque<Long> timestamps, long threshold) {
+    while (!timestamps.isEmpty() && timestamps.peekFirst() <= threshold) {
+      timestamps.pollFirst();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.xcesys.template.admin.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的刷新令牌存储，适用于单节点部署
+ */
+@Component
+@ConditionalOnProperty(name = "app.refresh-token.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+  private final Map<String, RefreshSession> sessions = new ConcurrentHashMap<>();
+
+  @Override
+  public void save(String tokenHash, RefreshSession session) {
+    sessions.put(tokenHash, session);
+  }
+
+  @Override
+  public RefreshSession take(String tokenHash) {
+    return sessions.remove(tokenHash);
+  }
+
+  @Override
+  public void removeByUserId(Long userId) {
+    sessions.values().removeIf(session -> userId.equals(session.userId()));
+  }
+
+  /**
+   * 定期清理已过期的刷新令牌
+   */
+  @Scheduled(fixedDelay = 60000)
+  public void cleanup() {
+    long now = System.currentTimeMillis();
+    sessions.values().removeIf(session -> session.isExpired(now));
+  }
+}
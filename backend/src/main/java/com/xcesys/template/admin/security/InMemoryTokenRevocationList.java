@@ -0,0 +1,48 @@
+package com.xcesys.template.admin.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的令牌撤销列表，适用于单节点部署
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.token-revocation.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenRevocationList implements TokenRevocationList {
+
+  /**
+   * 令牌ID到过期时间戳（毫秒）的映射
+   */
+  private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+  private final JwtTokenCache jwtTokenCache;
+
+  @Override
+  public void revoke(String tokenId, Date expiration) {
+    if (expiration.getTime() > System.currentTimeMillis()) {
+      revoked.put(tokenId, expiration.getTime());
+    }
+    jwtTokenCache.evictByTokenId(tokenId);
+  }
+
+  @Override
+  public boolean isRevoked(String tokenId) {
+    return revoked.containsKey(tokenId);
+  }
+
+  /**
+   * 定期清理已过期的令牌
+   */
+  @Scheduled(fixedDelay = 60000)
+  public void cleanup() {
+    long now = System.currentTimeMillis();
+    revoked.values().removeIf(expiresAt -> expiresAt <= now);
+  }
+}
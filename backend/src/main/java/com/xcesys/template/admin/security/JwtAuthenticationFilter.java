@@ -1,10 +1,12 @@
 package com.xcesys.template.admin.security;
 
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,27 +14,45 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT认证过滤器，用于拦截请求，验证JWT令牌
  */
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final JwtTokenCache jwtTokenCache;
+    private final TokenRevocationList tokenRevocationList;
+
+    private final Timer validParseTimer;
+    private final Timer invalidParseTimer;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, JwtTokenCache jwtTokenCache,
+                                   TokenRevocationList tokenRevocationList, MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.jwtTokenCache = jwtTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.validParseTimer = parseTimer(meterRegistry, "valid");
+        this.invalidParseTimer = parseTimer(meterRegistry, "invalid");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                Authentication authentication = jwtTokenProvider.getAuthentication(jwt);
-                // 设置Authentication到Spring Security上下文
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set Authentication for user '{}'", authentication.getName());
+            if (StringUtils.hasText(jwt)) {
+                Authentication authentication = getAuthentication(jwt);
+                if (authentication != null) {
+                    // 设置Authentication到Spring Security上下文
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set Authentication for user '{}'", authentication.getName());
+                }
             }
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
@@ -40,6 +60,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 获取令牌对应的认证对象，优先从缓存中获取，未命中时验签解析一次并写入缓存。
+     * 命中和未命中都检查撤销列表，不依赖撤销通知及时移除各节点上的缓存
+     *
+     * @param jwt JWT令牌
+     * @return 认证对象，令牌已撤销时返回null
+     */
+    private Authentication getAuthentication(String jwt) {
+        Authentication authentication = jwtTokenCache.get(jwt, tokenRevocationList::isRevoked);
+        if (authentication == null) {
+            JwtClaims claims = parse(jwt);
+            if (claims.tokenId() != null && tokenRevocationList.isRevoked(claims.tokenId())) {
+                log.debug("JWT token '{}' has been revoked", claims.tokenId());
+                return null;
+            }
+            long authorityVersion = jwtTokenProvider.getAuthorityVersion(claims);
+            authentication = jwtTokenProvider.getAuthentication(claims, jwt);
+            jwtTokenCache.put(jwt, authentication, claims.tokenId(), authorityVersion, claims.expiration());
+        }
+        return authentication;
+    }
+
+    /**
+     * 验签并解析令牌，按结果分别记录耗时
+     *
+     * @param jwt JWT令牌
+     * @return 令牌声明
+     */
+    private JwtClaims parse(String jwt) {
+        long start = System.nanoTime();
+        try {
+            JwtClaims claims = jwtTokenProvider.parse(jwt);
+            validParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            invalidParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer parseTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.jwt.parse")
+                .description("JWT signature verification and claims parsing on token cache misses")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
     /**
      * 从请求中提取JWT令牌
      *
@@ -0,0 +1,16 @@
+package com.xcesys.template.admin.security;
+
+import java.util.Date;
+
+/**
+ * 已验证的JWT令牌声明
+ * 令牌不携带权限，权限在验证时按用户ID从授权引擎获取
+ *
+ * @param id         用户ID
+ * @param username   用户名
+ * @param companyId  公司ID
+ * @param expiration 过期时间
+ * @param tokenId    令牌ID（jti声明），用于撤销令牌
+ */
+public record JwtClaims(Long id, String username, Long companyId, Date expiration, String tokenId) {
+}
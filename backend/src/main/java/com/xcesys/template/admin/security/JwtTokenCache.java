@@ -0,0 +1,229 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.InvalidationListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 已验证JWT令牌缓存
+ * 缓存令牌到认证对象的映射，命中时无需重复验签和解析，条目按令牌的exp声明过期。
+ * 权限来自授权引擎的条目记录构建时的授权版本号，用户授权变更后视为未命中并重新构建
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtTokenCache implements InvalidationListener {
+
+  /**
+   * 缓存已满时一次淘汰的条目比例
+   */
+  private static final int EVICTION_DIVISOR = 10;
+
+  private final Map<String, CachedAuthentication> cache = new ConcurrentHashMap<>();
+
+  private final AuthorizationEngine authorizationEngine;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder puts = new LongAdder();
+
+  @Value("${jwt.cache.max-size:10000}")
+  private int maxSize;
+
+  /**
+   * 获取缓存的认证对象
+   * 命中时同样检查令牌是否已撤销，撤销通知丢失或晚于缓存写入时也不会继续放行已撤销的令牌
+   *
+   * @param token   JWT令牌
+   * @param revoked 令牌ID是否已撤销
+   * @return 认证对象，未命中、已过期、授权已变更或令牌已撤销时返回null
+   */
+  public Authentication get(String token, Predicate<String> revoked) {
+    CachedAuthentication cached = cache.get(token);
+    if (cached == null) {
+      misses.increment();
+      return null;
+    }
+    if (cached.isExpired(System.currentTimeMillis()) || isStale(cached)
+        || (cached.tokenId() != null && revoked.test(cached.tokenId()))) {
+      if (cache.remove(token, cached)) {
+        evictions.increment();
+      }
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return cached.authentication();
+  }
+
+  /**
+   * 缓存已验证的认证对象
+   *
+   * @param token            JWT令牌
+   * @param authentication   认证对象
+   * @param tokenId          令牌ID
+   * @param authorityVersion 构建认证对象时的授权版本号
+   * @param expiration       令牌过期时间
+   */
+  public void put(String token, Authentication authentication, String tokenId, long authorityVersion,
+                  Date expiration) {
+    if (maxSize <= 0 || expiration == null) {
+      return;
+    }
+    long expiresAt = expiration.getTime();
+    if (expiresAt <= System.currentTimeMillis()) {
+      return;
+    }
+    if (cache.size() >= maxSize) {
+      evict();
+    }
+    Long userId = authentication.getPrincipal() instanceof UserDetailsImpl principal ? principal.getId() : null;
+    cache.put(token, new CachedAuthentication(authentication, tokenId, userId, authorityVersion, expiresAt));
+    puts.increment();
+  }
+
+  /**
+   * 移除指定令牌的缓存
+   *
+   * @param token JWT令牌
+   */
+  public void evict(String token) {
+    if (cache.remove(token) != null) {
+      evictions.increment();
+    }
+  }
+
+  /**
+   * 移除指定令牌ID的缓存，用于令牌撤销（其他节点只知道令牌ID）
+   *
+   * @param tokenId 令牌ID
+   */
+  public void evictByTokenId(String tokenId) {
+    cache.entrySet().removeIf(entry -> {
+      boolean matched = tokenId.equals(entry.getValue().tokenId());
+      if (matched) {
+        evictions.increment();
+      }
+      return matched;
+    });
+  }
+
+  /**
+   * 清空缓存
+   */
+  public void clear() {
+    int size = cache.size();
+    cache.clear();
+    evictions.add(size);
+  }
+
+  /**
+   * 其他节点的部门层级变更会改变数据范围，清空已缓存的认证对象；
+   * 用户和角色变更由授权版本号处理
+   *
+   * @param event 缓存失效事件
+   */
+  @Override
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationEvent.Type.DEPARTMENT) {
+      clear();
+    }
+  }
+
+  @Override
+  public void reloadAll() {
+    clear();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public long getPutCount() {
+    return puts.sum();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * 判断条目的权限是否已落后于授权引擎
+   *
+   * @param cached 缓存条目
+   * @return 是否需要重新构建
+   */
+  private boolean isStale(CachedAuthentication cached) {
+    return cached.authorityVersion() != authorizationEngine.getAuthorityVersion(cached.userId());
+  }
+
+  /**
+   * 淘汰条目：先清理已过期的条目，仍然超出容量时淘汰最早过期的一批条目
+   */
+  private synchronized void evict() {
+    if (cache.size() < maxSize) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    cache.entrySet().removeIf(entry -> {
+      boolean expired = entry.getValue().isExpired(now);
+      if (expired) {
+        evictions.increment();
+      }
+      return expired;
+    });
+    if (cache.size() < maxSize) {
+      return;
+    }
+
+    List<Map.Entry<String, CachedAuthentication>> entries = new ArrayList<>(cache.entrySet());
+    entries.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt()));
+    int count = Math.max(1, maxSize / EVICTION_DIVISOR);
+    for (int i = 0; i < count && i < entries.size(); i++) {
+      Map.Entry<String, CachedAuthentication> entry = entries.get(i);
+      if (cache.remove(entry.getKey(), entry.getValue())) {
+        evictions.increment();
+      }
+    }
+    log.debug("JWT token cache full, evicted {} entries", count);
+  }
+
+  /**
+   * 缓存条目
+   *
+   * @param authentication   认证对象
+   * @param tokenId          令牌ID
+   * @param userId           用户ID
+   * @param authorityVersion 构建时的授权版本号
+   * @param expiresAt        过期时间戳（毫秒）
+   */
+  private record CachedAuthentication(Authentication authentication, String tokenId, Long userId,
+                                      long authorityVersion, long expiresAt) {
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.xcesys.template.admin.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * 已验证JWT令牌缓存的指标，以标准缓存指标（cache.gets、cache.puts、cache.evictions、cache.size）发布
+ */
+public class JwtTokenCacheMetrics extends CacheMeterBinder<JwtTokenCache> {
+
+  public JwtTokenCacheMetrics(JwtTokenCache cache) {
+    super(cache, "jwtToken", Tags.empty());
+  }
+
+  @Override
+  protected Long size() {
+    JwtTokenCache cache = getCache();
+    return cache != null ? (long) cache.size() : null;
+  }
+
+  @Override
+  protected long hitCount() {
+    JwtTokenCache cache = getCache();
+    return cache != null ? cache.getHitCount() : 0L;
+  }
+
+  @Override
+  protected Long missCount() {
+    JwtTokenCache cache = getCache();
+    return cache != null ? cache.getMissCount() : null;
+  }
+
+  @Override
+  protected Long evictionCount() {
+    JwtTokenCache cache = getCache();
+    return cache != null ? cache.getEvictionCount() : null;
+  }
+
+  @Override
+  protected long putCount() {
+    JwtTokenCache cache = getCache();
+    return cache != null ? cache.getPutCount() : 0L;
+  }
+
+  @Override
+  protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+  }
+}
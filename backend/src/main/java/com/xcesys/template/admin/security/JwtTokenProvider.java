@@ -2,28 +2,34 @@ package com.xcesys.template.admin.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Arrays;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * JWT令牌提供者，负责生成和验证JWT令牌
+ * 访问令牌只携带用户ID和公司ID，权限在验证时从内存授权引擎获取，
+ * 因此令牌体积与权限数量无关，刷新令牌时也无需再查询数据库。
+ * 旧版本签发的令牌中携带的权限声明（authorities及紧凑格式av/ap/ar）一律忽略，同样按用户ID从授权引擎获取权限
  */
 @Component
 @RequiredArgsConstructor
@@ -42,6 +48,31 @@ public class JwtTokenProvider {
   @Value("${jwt.token-prefix}")
   private String jwtTokenPrefix;
 
+  private final AuthorityTable authorityTable;
+  private final DataScopeCompiler dataScopeCompiler;
+  private final AuthorizationEngine authorizationEngine;
+
+  /**
+   * 签名密钥，启动时生成一次
+   */
+  private Key signingKey;
+
+  /**
+   * 令牌解析器，不可变且线程安全，所有请求共享
+   */
+  private JwtParser jwtParser;
+
+  /**
+   * 初始化签名密钥和令牌解析器
+   */
+  @PostConstruct
+  public void init() {
+    this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    this.jwtParser = Jwts.parserBuilder()
+        .setSigningKey(signingKey)
+        .build();
+  }
+
   /**
    * 创建JWT令牌
    *
@@ -50,26 +81,55 @@ public class JwtTokenProvider {
    */
   public String createToken(Authentication authentication) {
     UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+    return createToken(userPrincipal.getId(), userPrincipal.getUsername(), userPrincipal.getCompanyId());
+  }
 
+  /**
+   * 创建访问令牌
+   *
+   * @param userId    用户ID
+   * @param username  用户名
+   * @param companyId 公司ID
+   * @return JWT令牌
+   */
+  public String createToken(Long userId, String username, Long companyId) {
     Date now = new Date();
     Date expiryDate = new Date(now.getTime() + jwtExpiration * 1000);
 
-    // 获取用户权限列表
-    String authorities = authentication.getAuthorities().stream()
-        .map(GrantedAuthority::getAuthority)
-        .collect(Collectors.joining(","));
-
     return Jwts.builder()
-        .setSubject(userPrincipal.getUsername())
-        .claim("id", userPrincipal.getId())
-        .claim("companyId", userPrincipal.getCompanyId())
-        .claim("authorities", authorities)
+        .setSubject(username)
+        .claim("id", userId)
+        .claim("companyId", companyId)
+        .setId(UUID.randomUUID().toString())
         .setIssuedAt(now)
         .setExpiration(expiryDate)
-        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
+  /**
+   * 验证令牌签名并解析声明
+   *
+   * @param token JWT令牌
+   * @return 令牌声明
+   * @throws JwtException 令牌无效、已过期或缺少用户ID
+   */
+  public JwtClaims parse(String token) {
+    Claims claims = jwtParser.parseClaimsJws(token).getBody();
+
+    Object id = claims.get("id");
+    if (id == null) {
+      throw new MalformedJwtException("JWT token has no user id claim");
+    }
+    Object companyId = claims.get("companyId");
+    return new JwtClaims(
+        Long.valueOf(id.toString()),
+        claims.getSubject(),
+        companyId != null ? Long.valueOf(companyId.toString()) : null,
+        claims.getExpiration(),
+        claims.getId());
+  }
+
   /**
    * 从令牌中获取用户名
    *
@@ -77,13 +137,7 @@ public class JwtTokenProvider {
    * @return 用户名
    */
   public String getUsernameFromToken(String token) {
-    Claims claims = Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-
-    return claims.getSubject();
+    return parse(token).username();
   }
 
   /**
@@ -93,13 +147,7 @@ public class JwtTokenProvider {
    * @return 用户ID
    */
   public Long getUserIdFromToken(String token) {
-    Claims claims = Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-
-    return claims.get("id", Long.class);
+    return parse(token).id();
   }
 
   /**
@@ -109,24 +157,51 @@ public class JwtTokenProvider {
    * @return 用户认证对象
    */
   public Authentication getAuthentication(String token) {
-    Claims claims = Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+    return getAuthentication(parse(token), token);
+  }
 
-    Collection<? extends GrantedAuthority> authorities =
-        Arrays.stream(claims.get("authorities").toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+  /**
+   * 从已验证的声明中构建用户认证对象
+   *
+   * @param claims 已验证的令牌声明
+   * @param token  JWT令牌
+   * @return 用户认证对象
+   */
+  public Authentication getAuthentication(JwtClaims claims, String token) {
+    List<GrantedAuthority> authorities = resolveAuthorities(claims.id());
 
-    Long companyId = claims.containsKey("companyId") ? Long.valueOf(claims.get("companyId").toString()) : null;
-    UserDetails principal = new UserDetailsImpl((Long.valueOf(claims.get("id").toString())), claims.getSubject(), "", Boolean.TRUE, companyId, authorities);
+    // 数据范围随认证对象一起缓存，同一令牌只编译一次
+    UserDetails principal = new UserDetailsImpl(claims.id(), claims.username(), "", Boolean.TRUE,
+        claims.companyId(), authorities, dataScopeCompiler.compile(claims.id()));
 
     return new UsernamePasswordAuthenticationToken(principal, token, authorities);
   }
 
+  /**
+   * 获取构建认证对象时应记录的授权版本号，需在构建认证对象之前读取，
+   * 避免与并发的授权变更交错时把旧权限记为新版本
+   *
+   * @param claims 已验证的令牌声明
+   * @return 授权版本号
+   */
+  public long getAuthorityVersion(JwtClaims claims) {
+    return authorizationEngine.getAuthorityVersion(claims.id());
+  }
+
+  /**
+   * 从授权引擎获取用户当前的权限
+   *
+   * @param userId 用户ID
+   * @return 权限列表
+   */
+  public List<GrantedAuthority> resolveAuthorities(Long userId) {
+    List<GrantedAuthority> authorities = new ArrayList<>();
+    for (String code : authorizationEngine.getAuthorityCodes(userId)) {
+      authorities.add(authorityTable.intern(code));
+    }
+    return Collections.unmodifiableList(authorities);
+  }
+
   /**
    * 验证令牌
    *
@@ -135,10 +210,7 @@ public class JwtTokenProvider {
    */
   public boolean validateToken(String token) {
     try {
-      Jwts.parserBuilder()
-          .setSigningKey(getSigningKey())
-          .build()
-          .parseClaimsJws(token);
+      jwtParser.parseClaimsJws(token);
       return true;
     } catch (JwtException | IllegalArgumentException e) {
       log.error("Invalid JWT token: {}", e.getMessage());
@@ -153,13 +225,7 @@ public class JwtTokenProvider {
    * @return 过期时间
    */
   public Date getExpirationDateFromToken(String token) {
-    Claims claims = Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-
-    return claims.getExpiration();
+    return parse(token).expiration();
   }
 
   /**
@@ -179,14 +245,4 @@ public class JwtTokenProvider {
   public String getHeader() {
     return jwtHeader;
   }
-
-  /**
-   * 获取签名密钥
-   *
-   * @return 签名密钥
-   */
-  private Key getSigningKey() {
-    byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-    return Keys.hmacShaKeyFor(keyBytes);
-  }
-}
\ No newline at end of file
+}
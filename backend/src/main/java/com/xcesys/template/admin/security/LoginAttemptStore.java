@@ -0,0 +1,33 @@
+package com.xcesys.template.admin.security;
+
+/**
+ * 登录失败计数存储
+ * 在滑动时间窗口内记录每个键（用户名或客户端IP）的登录失败次数
+ */
+public interface LoginAttemptStore {
+
+  /**
+   * 记录一次登录失败
+   *
+   * @param key           计数键
+   * @param windowSeconds 滑动窗口长度（秒）
+   * @return 窗口内的失败次数
+   */
+  int recordFailure(String key, long windowSeconds);
+
+  /**
+   * 获取窗口内的失败次数
+   *
+   * @param key           计数键
+   * @param windowSeconds 滑动窗口长度（秒）
+   * @return 窗口内的失败次数
+   */
+  int getFailureCount(String key, long windowSeconds);
+
+  /**
+   * 清除失败记录
+   *
+   * @param key 计数键
+   */
+  void reset(String key);
+}
@@ -0,0 +1,122 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.exception.TooManyRequestsException;
+import com.xcesys.template.admin.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 登录限流
+ * 按用户名和客户端IP统计滑动窗口内的登录失败次数，超过阈值时在认证之前直接拒绝，
+ * 失败次数定期批量写回用户表
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottle {
+
+  private static final String USER_KEY_PREFIX = "user:";
+  private static final String IP_KEY_PREFIX = "ip:";
+
+  private final LoginAttemptStore loginAttemptStore;
+  private final UserService userService;
+
+  /**
+   * 待写回的失败次数（用户名 -> 新增失败次数）
+   */
+  private final Map<String, Integer> pendingFailures = new ConcurrentHashMap<>();
+
+  /**
+   * 待写回的失败次数清零（用户名）
+   */
+  private final Set<String> pendingResets = ConcurrentHashMap.newKeySet();
+
+  @Value("${app.login.max-attempts:5}")
+  private int maxAttempts;
+
+  @Value("${app.login.max-attempts-per-ip:50}")
+  private int maxAttemptsPerIp;
+
+  @Value("${app.login.lock-duration:300}")
+  private long lockDuration;
+
+  /**
+   * 检查是否允许登录，超过失败阈值时抛出异常
+   *
+   * @param username 用户名
+   * @param clientIp 客户端IP
+   */
+  public void checkAllowed(String username, String clientIp) {
+    if (loginAttemptStore.getFailureCount(USER_KEY_PREFIX + username, lockDuration) >= maxAttempts) {
+      throw new TooManyRequestsException("登录失败次数过多，账号已被临时锁定，请稍后重试");
+    }
+    if (clientIp != null
+        && loginAttemptStore.getFailureCount(IP_KEY_PREFIX + clientIp, lockDuration) >= maxAttemptsPerIp) {
+      throw new TooManyRequestsException("登录失败次数过多，请稍后重试");
+    }
+  }
+
+  /**
+   * 记录登录失败
+   *
+   * @param username 用户名
+   * @param clientIp 客户端IP
+   */
+  public void onFailure(String username, String clientIp) {
+    loginAttemptStore.recordFailure(USER_KEY_PREFIX + username, lockDuration);
+    if (clientIp != null) {
+      loginAttemptStore.recordFailure(IP_KEY_PREFIX + clientIp, lockDuration);
+    }
+    pendingFailures.merge(username, 1, Integer::sum);
+  }
+
+  /**
+   * 记录登录成功，清除该用户名的失败记录
+   *
+   * @param username 用户名
+   */
+  public void onSuccess(String username) {
+    loginAttemptStore.reset(USER_KEY_PREFIX + username);
+    pendingFailures.remove(username);
+    pendingResets.add(username);
+  }
+
+  /**
+   * 将累计的失败次数批量写回用户表
+   */
+  @Scheduled(fixedDelayString = "${app.login.flush-interval:10000}")
+  public void flush() {
+    if (pendingResets.isEmpty() && pendingFailures.isEmpty()) {
+      return;
+    }
+
+    Set<String> resets = new HashSet<>();
+    for (String username : pendingResets) {
+      if (pendingResets.remove(username)) {
+        resets.add(username);
+      }
+    }
+    Map<String, Integer> failures = new HashMap<>();
+    for (String username : pendingFailures.keySet()) {
+      Integer count = pendingFailures.remove(username);
+      if (count != null) {
+        failures.put(username, count);
+      }
+    }
+
+    try {
+      userService.recordLoginFailures(failures, resets, maxAttempts);
+    } catch (Exception e) {
+      log.warn("Failed to write back login failures for {} users", failures.size() + resets.size(), e);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.xcesys.template.admin.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Redis有序集合的登录失败计数存储，适用于多节点部署
+ * 每次失败以时间戳为分值写入有序集合，统计时先移除窗口外的成员
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.login.store", havingValue = "redis")
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+  private static final String KEY_PREFIX = "login:attempts:";
+
+  private final StringRedisTemplate redisTemplate;
+
+  @Override
+  public int recordFailure(String key, long windowSeconds) {
+    String redisKey = KEY_PREFIX + key;
+    long now = System.currentTimeMillis();
+    ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+    zSet.removeRangeByScore(redisKey, 0, now - windowSeconds * 1000);
+    zSet.add(redisKey, now + ":" + UUID.randomUUID(), now);
+    redisTemplate.expire(redisKey, windowSeconds, TimeUnit.SECONDS);
+    Long count = zSet.zCard(redisKey);
+    return count == null ? 0 : count.intValue();
+  }
+
+  @Override
+  public int getFailureCount(String key, long windowSeconds) {
+    String redisKey = KEY_PREFIX + key;
+    ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+    zSet.removeRangeByScore(redisKey, 0, System.currentTimeMillis() - windowSeconds * 1000);
+    Long count = zSet.zCard(redisKey);
+    return count == null ? 0 : count.intValue();
+  }
+
+  @Override
+  public void reset(String key) {
+    redisTemplate.delete(KEY_PREFIX + key);
+  }
+}
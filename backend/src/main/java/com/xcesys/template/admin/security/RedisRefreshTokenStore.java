@@ -0,0 +1,76 @@
+package com.xcesys.template.admin.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于Redis的刷新令牌存储，适用于多节点部署
+ * 每个刷新令牌以剩余有效期为TTL单独存放，另以集合记录用户的令牌摘要，用于停用或删除用户时一并撤销
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.refresh-token.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+  private static final String KEY_PREFIX = "jwt:refresh:";
+  private static final String USER_KEY_PREFIX = "jwt:refresh:user:";
+
+  private final StringRedisTemplate redisTemplate;
+
+  @Override
+  public void save(String tokenHash, RefreshSession session) {
+    long ttl = session.expiresAt() - System.currentTimeMillis();
+    if (ttl <= 0) {
+      return;
+    }
+    redisTemplate.opsForValue().set(KEY_PREFIX + tokenHash, serialize(session), Duration.ofMillis(ttl));
+    String userKey = USER_KEY_PREFIX + session.userId();
+    redisTemplate.opsForSet().add(userKey, tokenHash);
+    redisTemplate.expire(userKey, Duration.ofMillis(ttl));
+  }
+
+  @Override
+  public RefreshSession take(String tokenHash) {
+    // GETDEL保证并发刷新时同一令牌只能使用一次
+    String value = redisTemplate.opsForValue().getAndDelete(KEY_PREFIX + tokenHash);
+    if (value == null) {
+      return null;
+    }
+    RefreshSession session = deserialize(value);
+    redisTemplate.opsForSet().remove(USER_KEY_PREFIX + session.userId(), tokenHash);
+    return session;
+  }
+
+  @Override
+  public void removeByUserId(Long userId) {
+    String userKey = USER_KEY_PREFIX + userId;
+    Set<String> tokenHashes = redisTemplate.opsForSet().members(userKey);
+    List<String> keys = new ArrayList<>();
+    keys.add(userKey);
+    if (tokenHashes != null) {
+      tokenHashes.forEach(tokenHash -> keys.add(KEY_PREFIX + tokenHash));
+    }
+    redisTemplate.delete(keys);
+  }
+
+  /**
+   * 序列化会话：用户ID:公司ID:过期时间:用户名，用户名放在最后以容纳分隔符
+   */
+  private static String serialize(RefreshSession session) {
+    return session.userId() + ":" + (session.companyId() != null ? session.companyId() : "") + ":"
+        + session.expiresAt() + ":" + session.username();
+  }
+
+  private static RefreshSession deserialize(String value) {
+    String[] parts = value.split(":", 4);
+    return new RefreshSession(Long.valueOf(parts[0]), parts[3],
+        parts[1].isEmpty() ? null : Long.valueOf(parts[1]), Long.parseLong(parts[2]));
+  }
+}
@@ -0,0 +1,151 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.common.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * 基于Redis的令牌撤销列表，适用于多节点部署
+ * 撤销的令牌ID以剩余有效期为TTL写入Redis，并通过发布订阅同步到各节点的本地布隆过滤器。
+ * 校验时先查本地布隆过滤器，只有命中时才访问Redis，绝大多数请求不产生网络开销。
+ * 发布订阅不保证送达：订阅断开期间其他节点的撤销不会进入本地布隆过滤器，直到下一次重建，
+ * 因此重建间隔不超过访问令牌有效期
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.token-revocation.store", havingValue = "redis")
+public class RedisTokenRevocationList implements TokenRevocationList, MessageListener {
+
+  private static final String KEY_PREFIX = "jwt:revoked:";
+  private static final String CHANNEL = "jwt:revoked";
+
+  /**
+   * 重建间隔（毫秒），取配置值与访问令牌有效期中的较小者
+   */
+  private static final String REBUILD_INTERVAL = "#{T(java.lang.Math).min(${app.token-revocation.rebuild-interval:3600000}, "
+      + "${jwt.expiration:900} * 1000)}";
+
+  private final StringRedisTemplate redisTemplate;
+  private final JwtTokenCache jwtTokenCache;
+
+  @Value("${app.token-revocation.expected-insertions:100000}")
+  private long expectedInsertions;
+
+  @Value("${app.token-revocation.false-positive-rate:0.01}")
+  private double falsePositiveRate;
+
+  /**
+   * 当前使用的布隆过滤器，重建时整体替换
+   */
+  private volatile BloomFilter filter;
+
+  /**
+   * 正在重建的布隆过滤器，重建期间收到的撤销同时写入
+   */
+  private volatile BloomFilter rebuilding;
+
+  /**
+   * 布隆过滤器是否已从Redis加载，加载前直接查询Redis
+   */
+  private volatile boolean loaded;
+
+  public RedisTokenRevocationList(StringRedisTemplate redisTemplate, JwtTokenCache jwtTokenCache,
+                                  RedisMessageListenerContainer listenerContainer) {
+    this.redisTemplate = redisTemplate;
+    this.jwtTokenCache = jwtTokenCache;
+    listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+  }
+
+  @Override
+  public void revoke(String tokenId, Date expiration) {
+    long ttl = expiration.getTime() - System.currentTimeMillis();
+    if (ttl > 0) {
+      redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, "1", Duration.ofMillis(ttl));
+      redisTemplate.convertAndSend(CHANNEL, tokenId);
+    }
+    addLocal(tokenId);
+  }
+
+  @Override
+  public boolean isRevoked(String tokenId) {
+    BloomFilter current = filter;
+    if (loaded && current != null && !current.mightContain(tokenId)) {
+      return false;
+    }
+    try {
+      return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+    } catch (DataAccessException e) {
+      // 布隆过滤器命中但无法确认时按已撤销处理
+      log.warn("查询令牌撤销状态失败: {}", e.getMessage());
+      return true;
+    }
+  }
+
+  /**
+   * 接收其他节点的撤销通知
+   */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    addLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 启动时从Redis加载已撤销的令牌，之后定期重建以清除已过期的条目并补上丢失的撤销通知
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = REBUILD_INTERVAL, initialDelayString = REBUILD_INTERVAL)
+  public void rebuild() {
+    BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+    rebuilding = next;
+    long count = 0;
+    try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+      while (keys.hasNext()) {
+        next.put(keys.next().substring(KEY_PREFIX.length()));
+        count++;
+      }
+      filter = next;
+      loaded = true;
+      log.debug("令牌撤销布隆过滤器已重建，共{}个令牌", count);
+    } catch (DataAccessException e) {
+      log.warn("加载已撤销令牌失败，暂时直接查询Redis: {}", e.getMessage());
+    } finally {
+      rebuilding = null;
+    }
+  }
+
+  /**
+   * 记录到本地布隆过滤器并移除本地认证缓存
+   *
+   * @param tokenId 令牌ID
+   */
+  private void addLocal(String tokenId) {
+    // 先读正在重建的过滤器再读当前过滤器：读到null说明重建尚未开始（其扫描必然包含已写入Redis的令牌）
+    // 或已经发布，此时读到的当前过滤器就是重建结果；反过来读会把令牌只写进即将被替换的旧过滤器
+    BloomFilter next = rebuilding;
+    BloomFilter current = filter;
+    if (current != null) {
+      current.put(tokenId);
+    }
+    if (next != null) {
+      next.put(tokenId);
+    }
+    jwtTokenCache.evictByTokenId(tokenId);
+  }
+}
@@ -0,0 +1,22 @@
+package com.xcesys.template.admin.security;
+
+/**
+ * 刷新令牌对应的服务端会话，刷新访问令牌时无需查询数据库
+ *
+ * @param userId    用户ID
+ * @param username  用户名
+ * @param companyId 公司ID
+ * @param expiresAt 过期时间戳（毫秒）
+ */
+public record RefreshSession(Long userId, String username, Long companyId, long expiresAt) {
+
+  /**
+   * 判断会话是否已过期
+   *
+   * @param now 当前时间戳（毫秒）
+   * @return 是否已过期
+   */
+  public boolean isExpired(long now) {
+    return now >= expiresAt;
+  }
+}
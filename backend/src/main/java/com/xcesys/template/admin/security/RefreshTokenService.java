@@ -0,0 +1,93 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 刷新令牌服务
+ * 刷新令牌是不含任何信息的随机串，服务端只保存其SHA-256摘要；每次使用后立即作废并签发新令牌（轮换），
+ * 被窃取的刷新令牌最多只能使用一次
+ */
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+  /**
+   * 刷新令牌随机字节数
+   */
+  private static final int TOKEN_BYTES = 32;
+
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  private final RefreshTokenStore refreshTokenStore;
+
+  @Value("${jwt.refresh-expiration:604800}")
+  private long refreshExpiration;
+
+  /**
+   * 签发刷新令牌
+   *
+   * @param userId    用户ID
+   * @param username  用户名
+   * @param companyId 公司ID
+   * @return 刷新令牌
+   */
+  public String issue(Long userId, String username, Long companyId) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    secureRandom.nextBytes(bytes);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    long expiresAt = System.currentTimeMillis() + refreshExpiration * 1000;
+    refreshTokenStore.save(hash(token), new RefreshSession(userId, username, companyId, expiresAt));
+    return token;
+  }
+
+  /**
+   * 使用刷新令牌，令牌随即作废
+   *
+   * @param refreshToken 刷新令牌
+   * @return 会话信息
+   * @throws BusinessException 刷新令牌不存在、已使用或已过期
+   */
+  public RefreshSession consume(String refreshToken) {
+    RefreshSession session = refreshTokenStore.take(hash(refreshToken));
+    if (session == null || session.isExpired(System.currentTimeMillis())) {
+      throw BusinessException.unauthorizedError("刷新令牌无效或已过期");
+    }
+    return session;
+  }
+
+  /**
+   * 撤销刷新令牌
+   *
+   * @param refreshToken 刷新令牌
+   */
+  public void revoke(String refreshToken) {
+    refreshTokenStore.take(hash(refreshToken));
+  }
+
+  /**
+   * 撤销用户的所有刷新令牌
+   *
+   * @param userId 用户ID
+   */
+  public void revokeAll(Long userId) {
+    refreshTokenStore.removeByUserId(userId);
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.xcesys.template.admin.security;
+
+/**
+ * 刷新令牌存储
+ * 只保存刷新令牌的摘要，条目在会话过期后自动失效
+ */
+public interface RefreshTokenStore {
+
+  /**
+   * 保存刷新令牌
+   *
+   * @param tokenHash 刷新令牌摘要
+   * @param session   会话信息
+   */
+  void save(String tokenHash, RefreshSession session);
+
+  /**
+   * 取出并删除刷新令牌，同一令牌并发使用时只有一次能取到
+   *
+   * @param tokenHash 刷新令牌摘要
+   * @return 会话信息，不存在时返回null
+   */
+  RefreshSession take(String tokenHash);
+
+  /**
+   * 删除用户的所有刷新令牌
+   *
+   * @param userId 用户ID
+   */
+  void removeByUserId(Long userId);
+}
@@ -1,8 +1,12 @@
 package com.xcesys.template.admin.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -35,11 +39,17 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final JwtTokenCache jwtTokenCache;
+    private final TokenRevocationList tokenRevocationList;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAccessDeniedHandler accessDeniedHandler;
+    private final MeterRegistry meterRegistry;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationProvider authenticationProvider,
+                                           Environment environment) throws Exception {
+        boolean separateManagementPort = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT;
+        int managementPort = environment.getProperty("management.server.port", Integer.class, -1);
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -55,28 +65,43 @@ public class SecurityConfig {
                 // 静态资源
 //                .requestMatchers("/", "/favicon.ico", "/**/*.png", "/**/*.jpg", "/**/*.jpeg", "/**/*.gif", "/**/*.svg", "/**/*.css", "/**/*.js").permitAll()
                 // 健康检查
-                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                // 独立的管理端口只绑定内网地址，其上的监控端点（含Prometheus指标）无需令牌即可采集
+                .requestMatchers(request -> separateManagementPort && request.getLocalPort() == managementPort).permitAll()
+                // 管理端口与业务端口相同时，其余监控端点需要监控权限
+                .requestMatchers("/actuator/**").hasAuthority("system:monitor:metrics")
                 // OPTIONS请求都放行
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 // 其他所有请求需要身份认证
                 .anyRequest().authenticated())
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
+    /**
+     * 密码编码器，限制BCrypt哈希计算的并发数和排队数，调用线程同步等待结果
+     * 调整bcrypt-strength后，旧强度的密码哈希会在用户下次登录成功时自动升级
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.password.bcrypt-strength:10}") int strength,
+            @Value("${app.password.hashing.threads:0}") int threads,
+            @Value("${app.password.hashing.queue-capacity:200}") int queueCapacity,
+            @Value("${app.password.hashing.timeout:5000}") long timeoutMillis,
+            @Value("${app.password.hashing.bulk-threads:0}") int bulkThreads) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeoutMillis,
+                bulkThreads, meterRegistry);
     }
 
     @Bean
@@ -86,7 +111,7 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider);
+        return new JwtAuthenticationFilter(jwtTokenProvider, jwtTokenCache, tokenRevocationList, meterRegistry);
     }
 
     @Bean
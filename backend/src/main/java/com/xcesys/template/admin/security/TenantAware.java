@@ -18,4 +18,9 @@ public interface TenantAware {
      * @param tenantId 租户ID
      */
     void setCurrentTenantId(Long tenantId);
+
+    /**
+     * 清除当前租户ID
+     */
+    void clear();
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ public class TenantAwareImpl implements TenantAware {
      * 清除当前租户ID
      * 建议在请求完成后调用，避免内存泄漏
      */
+    @Override
     public void clear() {
         currentTenant.remove();
     }
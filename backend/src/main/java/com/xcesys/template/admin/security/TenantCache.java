@@ -0,0 +1,218 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.InvalidationListener;
+import com.xcesys.template.admin.entity.Company;
+import com.xcesys.template.admin.repository.CompanyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 租户缓存
+ * 缓存域名、编码到租户的映射以及租户的启用状态和过期时间，租户解析和状态校验无需访问数据库。
+ * 启动时全量加载，未命中时查询一次数据库，不存在的域名和编码在一段时间内作为负缓存直接返回
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantCache implements InvalidationListener {
+
+  /**
+   * 负缓存的最大条目数，超过时整体清空，防止随机主机名占用内存
+   */
+  private static final int MAX_NEGATIVE_ENTRIES = 10000;
+
+  private final CompanyRepository companyRepository;
+
+  private final Map<Long, TenantInfo> tenants = new ConcurrentHashMap<>();
+  private final Map<String, Long> domainIndex = new ConcurrentHashMap<>();
+  private final Map<String, Long> codeIndex = new ConcurrentHashMap<>();
+  private final Map<String, Long> negativeDomains = new ConcurrentHashMap<>();
+  private final Map<String, Long> negativeCodes = new ConcurrentHashMap<>();
+
+  @Value("${app.tenant.negative-ttl:60}")
+  private long negativeTtl;
+
+  /**
+   * 应用启动完成后加载全部租户
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    companyRepository.findAll().forEach(this::put);
+    log.info("Tenant cache loaded {} tenants", tenants.size());
+  }
+
+  /**
+   * 根据域名获取租户ID
+   *
+   * @param domain 域名
+   * @return 租户ID，不存在时返回null
+   */
+  public Long findIdByDomain(String domain) {
+    return lookup(domain, domainIndex, negativeDomains, companyRepository::findByDomain);
+  }
+
+  /**
+   * 根据公司编码获取租户ID
+   *
+   * @param code 公司编码
+   * @return 租户ID，不存在时返回null
+   */
+  public Long findIdByCode(String code) {
+    return lookup(code, codeIndex, negativeCodes, companyRepository::findByCode);
+  }
+
+  /**
+   * 获取租户信息
+   *
+   * @param id 租户ID
+   * @return 租户信息，不存在时返回null
+   */
+  public TenantInfo get(Long id) {
+    TenantInfo info = tenants.get(id);
+    if (info == null) {
+      info = companyRepository.findById(id).map(this::put).orElse(null);
+    }
+    return info;
+  }
+
+  /**
+   * 判断租户是否可用（存在、已启用且未过期）
+   *
+   * @param id 租户ID
+   * @return 是否可用
+   */
+  public boolean isActive(Long id) {
+    TenantInfo info = get(id);
+    return info != null && info.isActive(LocalDateTime.now());
+  }
+
+  /**
+   * 移除租户缓存，下次访问时重新加载
+   * 同时清空负缓存，使新建或修改后的域名、编码立即可见
+   *
+   * @param id 租户ID
+   */
+  public void evict(Long id) {
+    TenantInfo removed = tenants.remove(id);
+    if (removed != null) {
+      if (removed.domain() != null) {
+        domainIndex.remove(removed.domain(), id);
+      }
+      codeIndex.remove(removed.code(), id);
+    }
+    negativeDomains.clear();
+    negativeCodes.clear();
+  }
+
+  /**
+   * 移除其他节点变更的租户
+   *
+   * @param event 缓存失效事件
+   */
+  @Override
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationEvent.Type.TENANT) {
+      if (event.id() == null) {
+        reload();
+      } else {
+        evict(event.id());
+      }
+    }
+  }
+
+  @Override
+  public void reloadAll() {
+    reload();
+  }
+
+  /**
+   * 清空缓存并重新加载全部租户
+   */
+  public synchronized void reload() {
+    tenants.clear();
+    domainIndex.clear();
+    codeIndex.clear();
+    negativeDomains.clear();
+    negativeCodes.clear();
+    warmUp();
+  }
+
+  private Long lookup(String key, Map<String, Long> index, Map<String, Long> negative,
+                      Function<String, Optional<Company>> loader) {
+    if (!StringUtils.hasText(key)) {
+      return null;
+    }
+    Long id = index.get(key);
+    if (id != null) {
+      return id;
+    }
+
+    long now = System.currentTimeMillis();
+    Long negativeUntil = negative.get(key);
+    if (negativeUntil != null) {
+      if (negativeUntil > now) {
+        return null;
+      }
+      negative.remove(key, negativeUntil);
+    }
+
+    Optional<Company> company = loader.apply(key);
+    if (company.isPresent()) {
+      return put(company.get()).id();
+    }
+    if (negative.size() >= MAX_NEGATIVE_ENTRIES) {
+      negative.clear();
+    }
+    negative.put(key, now + negativeTtl * 1000);
+    return null;
+  }
+
+  private TenantInfo put(Company company) {
+    TenantInfo info = new TenantInfo(company.getId(), company.getCode(),
+        StringUtils.hasText(company.getDomain()) ? company.getDomain() : null,
+        Boolean.TRUE.equals(company.getEnabled()), company.getExpireTime());
+    TenantInfo previous = tenants.put(info.id(), info);
+    if (previous != null) {
+      if (previous.domain() != null) {
+        domainIndex.remove(previous.domain(), info.id());
+      }
+      codeIndex.remove(previous.code(), info.id());
+    }
+    if (info.domain() != null) {
+      domainIndex.put(info.domain(), info.id());
+    }
+    codeIndex.put(info.code(), info.id());
+    return info;
+  }
+
+  /**
+   * 租户信息
+   *
+   * @param id         租户ID
+   * @param code       公司编码
+   * @param domain     公司域名
+   * @param enabled    是否启用
+   * @param expireTime 过期时间
+   */
+  public record TenantInfo(Long id, String code, String domain, boolean enabled, LocalDateTime expireTime) {
+
+    /**
+     * 判断租户在指定时间是否可用
+     */
+    public boolean isActive(LocalDateTime now) {
+      return enabled && (expireTime == null || expireTime.isAfter(now));
+    }
+  }
+}
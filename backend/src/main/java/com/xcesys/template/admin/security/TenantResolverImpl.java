@@ -1,7 +1,5 @@
 package com.xcesys.template.admin.security;
 
-import com.xcesys.template.admin.entity.Company;
-import com.xcesys.template.admin.repository.CompanyRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -10,8 +8,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import java.util.Optional;
-
 /**
  * 租户解析器实现类
  * 从请求域名和URL中的company code解析租户信息，或从已登录用户的公司信息中获取租户ID
@@ -20,7 +16,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TenantResolverImpl implements TenantResolver {
 
-    private final CompanyRepository companyRepository;
+    private final TenantCache tenantCache;
 
     @Override
     public Long resolveTenantId(HttpServletRequest request) {
@@ -37,18 +33,18 @@ public class TenantResolverImpl implements TenantResolver {
         // 从请求域名中解析租户信息
         String serverName = request.getServerName();
         if (StringUtils.hasText(serverName)) {
-            Optional<Company> company = companyRepository.findByDomain(serverName);
-            if (company.isPresent()) {
-                return company.get().getId();
+            Long tenantId = tenantCache.findIdByDomain(serverName);
+            if (tenantId != null) {
+                return tenantId;
             }
         }
 
         // 从URL中的company code参数解析租户信息
         String companyCode = request.getParameter("company");
         if (StringUtils.hasText(companyCode)) {
-            Optional<Company> company = companyRepository.findByCode(companyCode);
-            if (company.isPresent()) {
-                return company.get().getId();
+            Long tenantId = tenantCache.findIdByCode(companyCode);
+            if (tenantId != null) {
+                return tenantId;
             }
         }
 
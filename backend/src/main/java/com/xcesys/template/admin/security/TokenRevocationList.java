@@ -0,0 +1,26 @@
+package com.xcesys.template.admin.security;
+
+import java.util.Date;
+
+/**
+ * JWT令牌撤销列表
+ * 记录在过期前被撤销的令牌ID（jti声明），条目在令牌过期后自动失效
+ */
+public interface TokenRevocationList {
+
+  /**
+   * 撤销令牌，并移除所有节点上该令牌的认证缓存
+   *
+   * @param tokenId    令牌ID
+   * @param expiration 令牌过期时间
+   */
+  void revoke(String tokenId, Date expiration);
+
+  /**
+   * 判断令牌是否已撤销
+   *
+   * @param tokenId 令牌ID
+   * @return 是否已撤销
+   */
+  boolean isRevoked(String tokenId);
+}
@@ -32,6 +32,53 @@ public class UserDetailsImpl implements UserDetails {
   private Long companyId;
   private Collection<? extends GrantedAuthority> authorities;
 
+  /**
+   * 用户昵称（仅登录时加载）
+   */
+  private String nickname;
+
+  /**
+   * 用户头像（仅登录时加载）
+   */
+  private String avatar;
+
+  /**
+   * 角色编码集合（仅登录时加载）
+   */
+  private Set<String> roleCodes;
+
+  /**
+   * 权限编码集合（仅登录时加载）
+   */
+  private Set<String> permissionCodes;
+
+  /**
+   * 编译后的数据范围（仅令牌认证时加载），为null时不限制数据范围
+   */
+  @JsonIgnore
+  private DataScopeFilter dataScope;
+
+  public UserDetailsImpl(Long id, String username, String password, Boolean enabled, Long companyId,
+                         Collection<? extends GrantedAuthority> authorities) {
+    this(id, username, password, enabled, companyId, authorities, null, null, null, null, null);
+  }
+
+  public UserDetailsImpl(Long id, String username, String password, Boolean enabled, Long companyId,
+                         Collection<? extends GrantedAuthority> authorities, DataScopeFilter dataScope) {
+    this(id, username, password, enabled, companyId, authorities, null, null, null, null, dataScope);
+  }
+
+  /**
+   * 创建使用新密码的副本
+   *
+   * @param password 已编码的密码
+   * @return UserDetailsImpl对象
+   */
+  public UserDetailsImpl withPassword(String password) {
+    return new UserDetailsImpl(id, username, password, enabled, companyId, authorities, nickname, avatar,
+        roleCodes, permissionCodes, dataScope);
+  }
+
   /**
    * 从User实体创建UserDetailsImpl对象
    *
@@ -40,6 +87,20 @@ public class UserDetailsImpl implements UserDetails {
    * @return UserDetailsImpl对象
    */
   public static UserDetailsImpl build(User user, Set<String> permissions) {
+    return build(user, permissions, null, null);
+  }
+
+  /**
+   * 从User实体创建UserDetailsImpl对象，同时保留登录响应所需的用户信息
+   *
+   * @param user            用户实体
+   * @param permissions     用户权限列表
+   * @param roleCodes       角色编码集合
+   * @param permissionCodes 权限编码集合
+   * @return UserDetailsImpl对象
+   */
+  public static UserDetailsImpl build(User user, Set<String> permissions, Set<String> roleCodes,
+                                      Set<String> permissionCodes) {
     List<SimpleGrantedAuthority> authorities = permissions.stream()
         .map(SimpleGrantedAuthority::new)
         .collect(Collectors.toList());
@@ -50,7 +111,12 @@ public class UserDetailsImpl implements UserDetails {
         user.getPassword(),
         user.getEnabled(),
         user.getCompanyId(),
-        authorities);
+        authorities,
+        user.getNickname(),
+        user.getAvatar(),
+        roleCodes,
+        permissionCodes,
+        null);
   }
 
 
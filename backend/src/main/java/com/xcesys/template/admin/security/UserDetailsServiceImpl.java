@@ -6,6 +6,7 @@ import com.xcesys.template.admin.entity.User;
 import com.xcesys.template.admin.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -20,49 +21,67 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // 根据用户名查询用户
-        User user = userRepository.findByUsername(username)
+        // 根据用户名查询用户，角色和权限在同一条查询中加载
+        User user = userRepository.findWithRolesByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
 
+        // 获取用户角色和权限编码
+        Set<String> roleCodes = user.getRoles().stream()
+                .map(Role::getCode)
+                .collect(Collectors.toSet());
+        Set<String> permissionCodes = user.getRoles().stream()
+                .flatMap(role -> role.getPermissions().stream())
+                .map(Permission::getCode)
+                .collect(Collectors.toSet());
+
         // 获取用户权限列表
-        Set<String> permissions = getUserPermissions(user);
+        Set<String> permissions = getUserPermissions(roleCodes, permissionCodes);
         
         // 构建并返回UserDetails对象
-        return UserDetailsImpl.build(user, permissions);
+        return UserDetailsImpl.build(user, permissions, roleCodes, permissionCodes);
+    }
+
+    /**
+     * 升级用户密码哈希
+     * 登录成功且密码哈希强度低于当前配置时由认证提供者调用
+     *
+     * @param user        用户详情
+     * @param newPassword 使用当前配置重新编码的密码
+     * @return 更新密码后的用户详情
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) user;
+        userRepository.updatePassword(userDetails.getId(), newPassword);
+        return userDetails.withPassword(newPassword);
     }
 
     /**
      * 获取用户的权限列表
      *
-     * @param user 用户对象
+     * @param roleCodes       角色编码集合
+     * @param permissionCodes 权限编码集合
      * @return 权限代码集合
      */
-    private Set<String> getUserPermissions(User user) {
+    private Set<String> getUserPermissions(Set<String> roleCodes, Set<String> permissionCodes) {
         Set<String> permissions = new HashSet<>();
         
         // 添加所有角色作为权限
-        Set<String> rolePermissions = user.getRoles().stream()
-                .map(role -> "ROLE_" + role.getCode())
-                .collect(Collectors.toSet());
-        permissions.addAll(rolePermissions);
+        roleCodes.forEach(code -> permissions.add("ROLE_" + code));
         
         // 添加角色关联的权限
-        Set<String> menuPermissions = user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(Permission::getCode)
-                .collect(Collectors.toSet());
-        permissions.addAll(menuPermissions);
+        permissions.addAll(permissionCodes);
         
         // 如果用户有管理员角色，添加特殊的管理员权限
-        boolean isAdmin = user.getRoles().stream()
-                .map(Role::getCode)
+        boolean isAdmin = roleCodes.stream()
                 .anyMatch("admin"::equalsIgnoreCase);
         if (isAdmin) {
             permissions.add("admin");
@@ -1,5 +1,6 @@
 package com.xcesys.template.admin.service;
 
+import com.xcesys.template.admin.common.CursorPage;
 import com.xcesys.template.admin.entity.Company;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -45,6 +46,18 @@ public interface CompanyService {
      */
     Page<Company> findCompanies(String name, Boolean enabled, Pageable pageable);
 
+    /**
+     * 游标分页查询公司列表，按创建时间倒序
+     *
+     * @param name      公司名称（模糊查询）
+     * @param enabled   状态
+     * @param cursor    上一页返回的游标
+     * @param size      每页大小
+     * @param withTotal 是否统计总数
+     * @return 公司游标分页列表
+     */
+    CursorPage<Company> scrollCompanies(String name, Boolean enabled, String cursor, int size, boolean withTotal);
+
     /**
      * 创建公司
      *
@@ -1,5 +1,6 @@
 package com.xcesys.template.admin.service;
 
+import com.xcesys.template.admin.dto.MenuTreeNode;
 import com.xcesys.template.admin.entity.Menu;
 
 import java.util.List;
@@ -23,7 +24,7 @@ public interface MenuService {
      *
      * @return 菜单树结构
      */
-    List<Menu> findMenuTree();
+    List<MenuTreeNode> findMenuTree();
     
     /**
      * 查询用户菜单树
@@ -31,7 +32,7 @@ public interface MenuService {
      * @param userId 用户ID
      * @return 菜单树结构
      */
-    List<Menu> findUserMenuTree(Long userId);
+    List<MenuTreeNode> findUserMenuTree(Long userId);
 
     /**
      * 创建菜单
@@ -0,0 +1,137 @@
+package com.xcesys.template.admin.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.InvalidationListener;
+import com.xcesys.template.admin.common.MenuTreeBuilder;
+import com.xcesys.template.admin.common.Result;
+import com.xcesys.template.admin.dto.MenuTreeNode;
+import com.xcesys.template.admin.repository.MenuRepository;
+import com.xcesys.template.admin.security.AuthorizationEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 用户菜单树缓存
+ * 角色集合相同的用户菜单树相同，按角色集合指纹缓存序列化后的响应体，可直接写出。
+ * 菜单或角色菜单关系变更时递增全局版本号，旧版本的缓存条目在下次访问时重建
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuTreeCache implements InvalidationListener {
+
+  /**
+   * 缓存的最大条目数（不同角色组合的数量），超过时整体清空
+   */
+  private static final int MAX_ENTRIES = 1000;
+
+  private final MenuRepository menuRepository;
+  private final AuthorizationEngine authorizationEngine;
+  private final ObjectMapper objectMapper;
+
+  private final Map<String, CachedMenuTree> cache = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * 获取用户菜单树
+   *
+   * @param userId 用户ID
+   * @return 序列化后的菜单树
+   */
+  public CachedMenuTree getUserMenuTree(Long userId) {
+    Set<Long> roleIds = authorizationEngine.getRoleIds(userId);
+    String fingerprint = fingerprint(roleIds);
+    long currentVersion = version.get();
+
+    CachedMenuTree cached = cache.get(fingerprint);
+    if (cached != null && cached.version() == currentVersion) {
+      return cached;
+    }
+
+    CachedMenuTree built = build(roleIds, currentVersion);
+    if (cache.size() >= MAX_ENTRIES) {
+      cache.clear();
+    }
+    // 构建期间版本号发生变化时不写入缓存，避免保存过期的菜单树
+    if (version.get() == currentVersion) {
+      cache.put(fingerprint, built);
+    }
+    return built;
+  }
+
+  /**
+   * 使全部缓存失效
+   */
+  public void invalidate() {
+    version.incrementAndGet();
+    cache.clear();
+  }
+
+  /**
+   * 其他节点的菜单或角色变更后使缓存失效；用户角色变化由授权引擎反映到角色集合指纹，无需处理
+   *
+   * @param event 缓存失效事件
+   */
+  @Override
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationEvent.Type.MENU || event.type() == InvalidationEvent.Type.ROLE) {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void reloadAll() {
+    invalidate();
+  }
+
+  /**
+   * 获取当前版本号
+   */
+  public long getVersion() {
+    return version.get();
+  }
+
+  private CachedMenuTree build(Set<Long> roleIds, long treeVersion) {
+    List<MenuTreeNode> tree = roleIds.isEmpty()
+        ? List.of()
+        : MenuTreeBuilder.build(menuRepository.findVisibleByRoleIds(roleIds));
+    try {
+      byte[] body = objectMapper.writeValueAsBytes(Result.success(tree));
+      String etag = "\"" + treeVersion + "-" + DigestUtils.md5DigestAsHex(body) + "\"";
+      return new CachedMenuTree(treeVersion, body, etag);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize menu tree", e);
+    }
+  }
+
+  /**
+   * 角色集合指纹：排序后的角色ID列表
+   */
+  private static String fingerprint(Set<Long> roleIds) {
+    return roleIds.stream()
+        .sorted()
+        .map(String::valueOf)
+        .collect(Collectors.joining(","));
+  }
+
+  /**
+   * 缓存的菜单树
+   *
+   * @param version 构建时的版本号
+   * @param body    序列化后的响应体
+   * @param etag    响应体的ETag
+   */
+  public record CachedMenuTree(long version, byte[] body, String etag) {
+  }
+}
@@ -1,5 +1,7 @@
 package com.xcesys.template.admin.service;
 
+import com.xcesys.template.admin.common.CursorPage;
+import com.xcesys.template.admin.dto.PermissionDto;
 import com.xcesys.template.admin.entity.Permission;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -48,13 +50,25 @@ public interface PermissionService {
      */
     Page<Permission> findAllPermissions(Pageable pageable);
 
+    /**
+     * 游标分页查询权限列表，按ID排序
+     *
+     * @param name      权限名称（模糊查询）
+     * @param cursor    上一页返回的游标
+     * @param size      每页大小
+     * @param withTotal 是否统计总数
+     * @return 权限游标分页列表
+     */
+    CursorPage<Permission> scrollPermissions(String name, String cursor, int size, boolean withTotal);
+
     /**
      * 根据类型查询权限列表
+     * 返回的列表会被缓存并在调用之间共享，调用方不得修改
      *
      * @param type 权限类型
-     * @return 权限列表
+     * @return 权限DTO列表
      */
-    List<Permission> findByType(Integer type);
+    List<PermissionDto> findByType(Integer type);
 
     /**
      * 根据角色ID查询权限列表
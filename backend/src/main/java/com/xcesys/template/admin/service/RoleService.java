@@ -1,5 +1,8 @@
 package com.xcesys.template.admin.service;
 
+import com.xcesys.template.admin.common.CursorPage;
+import com.xcesys.template.admin.dto.AssignmentResult;
+import com.xcesys.template.admin.dto.RoleDto;
 import com.xcesys.template.admin.entity.Role;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -47,12 +50,25 @@ public interface RoleService {
      */
     Page<Role> findRoles(String name, Boolean enabled, Pageable pageable);
 
+    /**
+     * 游标分页查询角色列表，按ID排序
+     *
+     * @param name      角色名称（模糊查询）
+     * @param enabled   角色状态
+     * @param cursor    上一页返回的游标
+     * @param size      每页大小
+     * @param withTotal 是否统计总数
+     * @return 角色游标分页列表
+     */
+    CursorPage<Role> scrollRoles(String name, Boolean enabled, String cursor, int size, boolean withTotal);
+
     /**
      * 查询所有角色列表
+     * 返回的列表会被缓存并在调用之间共享，调用方不得修改
      *
-     * @return 角色列表
+     * @return 角色DTO列表
      */
-    List<Role> findAllRoles();
+    List<RoleDto> findAllRoles();
 
     /**
      * 查询用户拥有的角色列表
@@ -98,16 +114,18 @@ public interface RoleService {
      *
      * @param roleId        角色ID
      * @param permissionIds 权限ID集合
+     * @return 分配结果
      */
-    void assignPermissions(Long roleId, Set<Long> permissionIds);
+    AssignmentResult assignPermissions(Long roleId, Set<Long> permissionIds);
 
     /**
      * 为角色分配菜单
      *
      * @param roleId  角色ID
      * @param menuIds 菜单ID集合
+     * @return 分配结果
      */
-    void assignMenus(Long roleId, Set<Long> menuIds);
+    AssignmentResult assignMenus(Long roleId, Set<Long> menuIds);
 
     /**
      * 判断角色编码是否存在
@@ -124,4 +142,20 @@ public interface RoleService {
      * @return 是否存在
      */
     boolean isNameExists(String name);
+
+    /**
+     * 获取角色拥有的权限ID
+     *
+     * @param roleId 角色ID
+     * @return 权限ID集合
+     */
+    Set<Long> getRolePermissionIds(Long roleId);
+
+    /**
+     * 获取角色拥有的菜单ID
+     *
+     * @param roleId 角色ID
+     * @return 菜单ID集合
+     */
+    Set<Long> getRoleMenuIds(Long roleId);
 }
\ No newline at end of file
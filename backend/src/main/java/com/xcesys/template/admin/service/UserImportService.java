@@ -0,0 +1,38 @@
+package com.xcesys.template.admin.service;
+
+import com.xcesys.template.admin.dto.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 用户批量导入服务接口
+ */
+public interface UserImportService {
+
+    /**
+     * 流式导入用户，按块校验和写入，内存占用与文件大小无关
+     *
+     * @param input  数据流
+     * @param format 数据格式
+     * @return 导入结果
+     * @throws IOException 读取数据流失败
+     */
+    ImportResult importUsers(InputStream input, Format format) throws IOException;
+
+    /**
+     * 导入数据格式
+     */
+    enum Format {
+
+        /**
+         * 逗号分隔，首行为表头
+         */
+        CSV,
+
+        /**
+         * 每行一个JSON对象
+         */
+        NDJSON
+    }
+}
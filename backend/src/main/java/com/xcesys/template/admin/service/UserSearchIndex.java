@@ -0,0 +1,21 @@
+package com.xcesys.template.admin.service;
+
+import com.xcesys.template.admin.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 用户关键字检索，按用户名和昵称匹配
+ * 通过app.user-search.mode选择实现：fulltext（MySQL ngram全文索引）或like
+ */
+public interface UserSearchIndex {
+
+    /**
+     * 按关键字分页检索用户，结果受租户过滤条件约束
+     *
+     * @param keyword  关键字
+     * @param pageable 分页参数
+     * @return 用户分页列表
+     */
+    Page<User> search(String keyword, Pageable pageable);
+}
@@ -1,11 +1,14 @@
 package com.xcesys.template.admin.service;
 
+import com.xcesys.template.admin.common.CursorPage;
+import com.xcesys.template.admin.dto.AssignmentResult;
 import com.xcesys.template.admin.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -37,6 +40,14 @@ public interface UserService {
      */
     User createUser(User user);
 
+    /**
+     * 批量创建用户，使用JDBC批量插入
+     *
+     * @param users 用户列表
+     * @return 创建的用户数
+     */
+    int createUsers(List<User> users);
+
     /**
      * 更新用户
      *
@@ -63,6 +74,20 @@ public interface UserService {
      */
     Page<User> findUsers(String keyword, Long deptId, Boolean enabled, Pageable pageable);
 
+    /**
+     * 游标分页查询用户列表，按创建时间倒序
+     *
+     * @param keyword   关键字
+     * @param deptId    部门ID
+     * @param enabled   状态
+     * @param cursor    上一页返回的游标
+     * @param size      每页大小
+     * @param withTotal 是否统计总数
+     * @return 用户游标分页列表
+     */
+    CursorPage<User> scrollUsers(String keyword, Long deptId, Boolean enabled, String cursor, int size,
+                                 boolean withTotal);
+
     /**
      * 根据部门ID获取用户列表
      *
@@ -101,8 +126,9 @@ public interface UserService {
      *
      * @param userId  用户ID
      * @param roleIds 角色ID列表
+     * @return 分配结果
      */
-    void assignRoles(Long userId, Set<Long> roleIds);
+    AssignmentResult assignRoles(Long userId, Set<Long> roleIds);
 
     /**
      * 获取当前登录用户
@@ -151,4 +177,21 @@ public interface UserService {
      * @return 角色编码列表
      */
     Set<String> getUserRoles(Long userId);
+
+    /**
+     * 获取用户的角色ID列表
+     *
+     * @param userId 用户ID
+     * @return 角色ID列表
+     */
+    Set<Long> getUserRoleIds(Long userId);
+
+    /**
+     * 批量写回登录失败次数
+     *
+     * @param failures    用户名到新增失败次数的映射
+     * @param resets      需要清零失败次数的用户名
+     * @param maxAttempts 最大失败次数，达到时记录锁定时间
+     */
+    void recordLoginFailures(Map<String, Integer> failures, Set<String> resets, int maxAttempts);
 }
\ No newline at end of file
@@ -1,16 +1,27 @@
 package com.xcesys.template.admin.service.impl;
 
+import com.xcesys.template.admin.common.CursorPage;
+import com.xcesys.template.admin.common.InvalidationBus;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.KeysetCursor;
+import com.xcesys.template.admin.common.TransactionHooks;
 import com.xcesys.template.admin.entity.Company;
 import com.xcesys.template.admin.exception.BusinessException;
 import com.xcesys.template.admin.repository.CompanyRepository;
+import com.xcesys.template.admin.security.TenantCache;
 import com.xcesys.template.admin.service.CompanyService;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,6 +32,8 @@ import java.util.Optional;
 public class CompanyServiceImpl implements CompanyService {
 
     private final CompanyRepository companyRepository;
+    private final TenantCache tenantCache;
+    private final InvalidationBus invalidationBus;
 
     @Override
     public Company findById(Long id) {
@@ -30,12 +43,15 @@ public class CompanyServiceImpl implements CompanyService {
 
     @Override
     public Optional<Company> findByCode(String code) {
-        return companyRepository.findByCode(code);
+        // 编码到租户ID的映射由租户缓存维护，不存在的编码不访问数据库
+        Long id = tenantCache.findIdByCode(code);
+        return id == null ? Optional.empty() : companyRepository.findById(id);
     }
 
     @Override
     public Optional<Company> findByDomain(String domain) {
-        return companyRepository.findByDomain(domain);
+        Long id = tenantCache.findIdByDomain(domain);
+        return id == null ? Optional.empty() : companyRepository.findById(id);
     }
 
     @Override
@@ -49,6 +65,23 @@ public class CompanyServiceImpl implements CompanyService {
         }
     }
 
+    @Override
+    public CursorPage<Company> scrollCompanies(String name, Boolean enabled, String cursor, int size,
+                                               boolean withTotal) {
+        Specification<Company> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (StringUtils.hasText(name)) {
+                predicates.add(cb.like(root.get("name"), "%" + name + "%"));
+            }
+            if (enabled != null) {
+                predicates.add(cb.equal(root.get("enabled"), enabled));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        Sort sort = Sort.by(Sort.Order.desc("createTime"), Sort.Order.desc("id"));
+        return KeysetCursor.scroll(companyRepository, Company.class, spec, sort, cursor, size, withTotal);
+    }
+
     @Override
     @Transactional
     public Company createCompany(Company company) {
@@ -67,7 +100,10 @@ public class CompanyServiceImpl implements CompanyService {
             company.setEnabled(true);
         }
 
-        return companyRepository.save(company);
+        Company savedCompany = companyRepository.save(company);
+        TransactionHooks.afterCommit(() -> tenantCache.evict(savedCompany.getId()));
+        invalidationBus.publish(InvalidationEvent.Type.TENANT, savedCompany.getId());
+        return savedCompany;
     }
 
     @Override
@@ -87,7 +123,10 @@ public class CompanyServiceImpl implements CompanyService {
             throw BusinessException.conflictError("域名已存在: " + company.getDomain());
         }
 
-        return companyRepository.save(company);
+        Company savedCompany = companyRepository.save(company);
+        TransactionHooks.afterCommit(() -> tenantCache.evict(savedCompany.getId()));
+        invalidationBus.publish(InvalidationEvent.Type.TENANT, savedCompany.getId());
+        return savedCompany;
     }
 
     @Override
@@ -95,6 +134,8 @@ public class CompanyServiceImpl implements CompanyService {
     public void deleteCompany(Long id) {
         Company company = findById(id);
         companyRepository.delete(company);
+        TransactionHooks.afterCommit(() -> tenantCache.evict(id));
+        invalidationBus.publish(InvalidationEvent.Type.TENANT, id);
     }
 
     @Override
@@ -103,6 +144,8 @@ public class CompanyServiceImpl implements CompanyService {
         Company company = findById(id);
         company.setEnabled(enabled);
         companyRepository.save(company);
+        TransactionHooks.afterCommit(() -> tenantCache.evict(id));
+        invalidationBus.publish(InvalidationEvent.Type.TENANT, id);
     }
 
     @Override
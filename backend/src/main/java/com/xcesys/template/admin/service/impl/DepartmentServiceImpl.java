@@ -1,12 +1,21 @@
 package com.xcesys.template.admin.service.impl;
 
+import com.xcesys.template.admin.common.InvalidationBus;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.TransactionHooks;
+import com.xcesys.template.admin.config.HibernateFilterBinder;
 import com.xcesys.template.admin.entity.Department;
 import com.xcesys.template.admin.exception.BusinessException;
+import com.xcesys.template.admin.repository.DepartmentClosureRepository;
 import com.xcesys.template.admin.repository.DepartmentRepository;
+import com.xcesys.template.admin.security.JwtTokenCache;
 import com.xcesys.template.admin.service.DepartmentService;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -23,16 +32,35 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DepartmentServiceImpl implements DepartmentService {
 
   private final DepartmentRepository departmentRepository;
+  private final DepartmentClosureRepository departmentClosureRepository;
+  private final JwtTokenCache jwtTokenCache;
+  private final InvalidationBus invalidationBus;
+  private final HibernateFilterBinder filterBinder;
+
+  /**
+   * 应用启动完成后检查闭包表，为空时根据部门表重建
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(rollbackFor = Exception.class)
+  public void initClosure() {
+    if (departmentClosureRepository.count() == 0) {
+      int rows = departmentClosureRepository.rebuild();
+      log.info("Department closure table rebuilt with {} rows", rows);
+    }
+  }
 
   @Override
+  @Transactional(readOnly = true)
   public Department findById(Long id) {
     return departmentRepository.findById(id).orElseThrow(() -> new BusinessException("部门不存在"));
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<Department> getDepartmentTree(String name, Boolean enabled) {
     // 查询所有部门
     List<Department> allDepts = departmentRepository.findAll((Specification<Department>) (root, query, cb) -> {
@@ -51,6 +79,7 @@ public class DepartmentServiceImpl implements DepartmentService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Page<Department> findDepartments(String name, Boolean enabled, Pageable pageable) {
     return departmentRepository.findAll((Specification<Department>) (root, query, cb) -> {
       List<Predicate> predicates = new ArrayList<>();
@@ -68,7 +97,12 @@ public class DepartmentServiceImpl implements DepartmentService {
   @Transactional(rollbackFor = Exception.class)
   public Department createDepartment(Department department) {
     validateDepartment(department);
-    return departmentRepository.save(department);
+    Department savedDepartment = departmentRepository.save(department);
+    departmentClosureRepository.insertNode(savedDepartment.getId(), savedDepartment.getParentId());
+    // 新部门会进入上级部门的“本部门及以下”数据范围
+    TransactionHooks.afterCommit(jwtTokenCache::clear);
+    invalidationBus.publish(InvalidationEvent.Type.DEPARTMENT, null);
+    return savedDepartment;
   }
 
   @Override
@@ -77,6 +111,14 @@ public class DepartmentServiceImpl implements DepartmentService {
     Department existingDept = findById(department.getId());
     validateDepartment(department);
 
+    // 检查是否将部门的父节点设置为自身或其子部门
+    Long parentId = department.getParentId();
+    boolean parentChanged = !Objects.equals(existingDept.getParentId(), parentId);
+    if (parentChanged && parentId != null
+        && departmentClosureRepository.existsByAncestorIdAndDescendantId(existingDept.getId(), parentId)) {
+      throw new BusinessException("不能将部门的父节点设置为自身或其子部门");
+    }
+
     // 更新基本信息
     existingDept.setName(department.getName());
     existingDept.setParentId(department.getParentId());
@@ -86,7 +128,18 @@ public class DepartmentServiceImpl implements DepartmentService {
     existingDept.setEmail(department.getEmail());
     existingDept.setEnabled(department.getEnabled());
 
-    return departmentRepository.save(existingDept);
+    Department savedDepartment = departmentRepository.save(existingDept);
+
+    // 父部门变化时移动整棵子树的闭包关系
+    if (parentChanged) {
+      departmentClosureRepository.detachSubtree(existingDept.getId());
+      if (parentId != null) {
+        departmentClosureRepository.attachSubtree(existingDept.getId(), parentId);
+      }
+      TransactionHooks.afterCommit(jwtTokenCache::clear);
+      invalidationBus.publish(InvalidationEvent.Type.DEPARTMENT, null);
+    }
+    return savedDepartment;
   }
 
   @Override
@@ -105,6 +158,9 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     departmentRepository.delete(department);
+    departmentClosureRepository.deleteNode(id);
+    TransactionHooks.afterCommit(jwtTokenCache::clear);
+    invalidationBus.publish(InvalidationEvent.Type.DEPARTMENT, null);
   }
 
   @Override
@@ -116,8 +172,9 @@ public class DepartmentServiceImpl implements DepartmentService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public boolean isNameExists(String name, Long parentId) {
-    return departmentRepository.existsByNameAndParentId(name, parentId);
+    return filterBinder.withoutDataScope(() -> departmentRepository.existsByNameAndParentId(name, parentId));
   }
 
   /**
@@ -0,0 +1,85 @@
+package com.xcesys.template.admin.service.impl;
+
+import com.xcesys.template.admin.entity.User;
+import com.xcesys.template.admin.repository.UserRepository;
+import com.xcesys.template.admin.security.TenantAware;
+import com.xcesys.template.admin.service.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * 基于MySQL ngram全文索引的用户检索
+ * 关键字按ngram分词后走ft_user_keyword索引，支持前缀和中间匹配，结果按相关度排序。
+ * 索引不存在或关键字短于分词长度时退回LIKE匹配
+ */
+@Service
+@ConditionalOnProperty(name = "app.user-search.mode", havingValue = "fulltext", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class FulltextUserSearchIndex implements UserSearchIndex {
+
+    /**
+     * 布尔模式下有特殊含义的字符
+     */
+    private static final String BOOLEAN_OPERATORS = "[+\\-<>()~*\"@]";
+
+    private final UserRepository userRepository;
+    private final TenantAware tenantAware;
+
+    @Value("${app.user-search.ngram-token-size:2}")
+    private int ngramTokenSize;
+
+    private volatile boolean indexAvailable;
+
+    /**
+     * 启动时检查全文索引是否存在，非MySQL数据库无法查询索引信息时同样视为不存在
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndex() {
+        try {
+            indexAvailable = userRepository.countKeywordFulltextIndex() > 0;
+        } catch (DataAccessException e) {
+            indexAvailable = false;
+        }
+        if (!indexAvailable) {
+            log.warn("sys_user上不存在全文索引ft_user_keyword，用户检索将使用LIKE匹配");
+        }
+    }
+
+    @Override
+    public Page<User> search(String keyword, Pageable pageable) {
+        String query = toBooleanQuery(keyword);
+        if (!indexAvailable || query == null) {
+            return userRepository.findByKeyword(keyword, pageable);
+        }
+        // 按相关度排序，忽略调用方的排序条件
+        return userRepository.searchByFulltext(query, tenantAware.getCurrentTenantId(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    /**
+     * 将关键字转换为布尔模式查询串，每个词都必须以短语形式出现
+     *
+     * @param keyword 关键字
+     * @return 查询串，存在短于分词长度的词时返回null
+     */
+    private String toBooleanQuery(String keyword) {
+        StringBuilder query = new StringBuilder();
+        for (String term : keyword.replaceAll(BOOLEAN_OPERATORS, " ").trim().split("\\s+")) {
+            if (term.length() < ngramTokenSize) {
+                return null;
+            }
+            query.append("+\"").append(term).append("\" ");
+        }
+        return query.toString().trim();
+    }
+}
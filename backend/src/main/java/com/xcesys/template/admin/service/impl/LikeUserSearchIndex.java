@@ -0,0 +1,26 @@
+package com.xcesys.template.admin.service.impl;
+
+import com.xcesys.template.admin.entity.User;
+import com.xcesys.template.admin.repository.UserRepository;
+import com.xcesys.template.admin.service.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * 基于LIKE模糊匹配的用户检索，无需额外索引，适用于数据量较小的部署
+ */
+@Service
+@ConditionalOnProperty(name = "app.user-search.mode", havingValue = "like")
+@RequiredArgsConstructor
+public class LikeUserSearchIndex implements UserSearchIndex {
+
+    private final UserRepository userRepository;
+
+    @Override
+    public Page<User> search(String keyword, Pageable pageable) {
+        return userRepository.findByKeyword(keyword, pageable);
+    }
+}
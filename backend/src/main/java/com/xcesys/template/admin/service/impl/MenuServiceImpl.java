@@ -1,16 +1,24 @@
 package com.xcesys.template.admin.service.impl;
 
+import com.xcesys.template.admin.common.InvalidationBus;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.MenuTreeBuilder;
+import com.xcesys.template.admin.common.TransactionHooks;
+import com.xcesys.template.admin.config.CacheConfig;
+import com.xcesys.template.admin.dto.MenuTreeNode;
 import com.xcesys.template.admin.entity.Menu;
 import com.xcesys.template.admin.exception.BusinessException;
 import com.xcesys.template.admin.repository.MenuRepository;
 import com.xcesys.template.admin.service.MenuService;
+import com.xcesys.template.admin.service.MenuTreeCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -22,6 +30,8 @@ import java.util.Set;
 public class MenuServiceImpl implements MenuService {
 
   private final MenuRepository menuRepository;
+  private final MenuTreeCache menuTreeCache;
+  private final InvalidationBus invalidationBus;
 
   @Override
   public Menu findById(Long id) {
@@ -30,54 +40,27 @@ public class MenuServiceImpl implements MenuService {
   }
 
   @Override
-  public List<Menu> findMenuTree() {
+  @Cacheable(cacheNames = CacheConfig.MENU_TREE, key = "'all'")
+  public List<MenuTreeNode> findMenuTree() {
     // 获取所有菜单
     List<Menu> allMenus = menuRepository.findAll(Sort.by("sort").ascending());
 
     // 构建菜单树
-    return buildMenuTree(allMenus, null);
+    return MenuTreeBuilder.build(allMenus);
   }
 
   @Override
-  public List<Menu> findUserMenuTree(Long userId) {
+  public List<MenuTreeNode> findUserMenuTree(Long userId) {
     // 获取用户可访问的菜单
     List<Menu> userMenus = menuRepository.findByUserId(userId);
 
     // 构建菜单树
-    return buildMenuTree(userMenus, null);
-  }
-
-  /**
-   * 构建菜单树结构
-   *
-   * @param menus    所有菜单列表
-   * @param parentId 父菜单ID
-   * @return 菜单树结构
-   */
-  private List<Menu> buildMenuTree(List<Menu> menus, Long parentId) {
-    List<Menu> tree = new ArrayList<>();
-
-    for (Menu menu : menus) {
-      // 如果是根菜单
-      if ((parentId == null && menu.getParentId() == null) ||
-          (parentId != null && parentId.equals(menu.getParentId()))) {
-        // 递归获取子菜单
-        List<Menu> children = buildMenuTree(menus, menu.getId());
-        if (!children.isEmpty()) {
-          menu.setChildren(children);
-        }
-        tree.add(menu);
-      }
-    }
-
-    // 根据排序字段排序
-    tree.sort(Comparator.comparing(Menu::getSort, Comparator.nullsLast(Comparator.naturalOrder())));
-
-    return tree;
+    return MenuTreeBuilder.build(userMenus);
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.MENU_TREE, allEntries = true)
   public Menu createMenu(Menu menu) {
     // 验证父菜单是否存在
     if (menu.getParentId() != null) {
@@ -104,22 +87,24 @@ public class MenuServiceImpl implements MenuService {
       menu.setIsCache(false);
     }
 
-    return menuRepository.save(menu);
+    Menu savedMenu = menuRepository.save(menu);
+    TransactionHooks.afterCommit(menuTreeCache::invalidate);
+    invalidationBus.publish(InvalidationEvent.Type.MENU, null);
+    return savedMenu;
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.MENU_TREE, allEntries = true)
   public Menu updateMenu(Menu menu) {
     // 检查菜单是否存在
     Menu existingMenu = findById(menu.getId());
 
-    // 检查是否将菜单的父节点设置为自己的子节点，防止产生循环引用
+    // 检查是否将菜单的父节点设置为自己的子节点，防止产生循环引用：
+    // 新父节点及其所有上级中包含当前菜单即为循环
     if (menu.getParentId() != null) {
-      List<Menu> children = findMenuWithChildren(menu.getId());
-      for (Menu child : children) {
-        if (child.getId().equals(menu.getParentId())) {
-          throw BusinessException.validationError("不能将菜单的父节点设置为其子节点");
-        }
+      if (menuRepository.findSelfAndAncestorIds(menu.getParentId()).contains(menu.getId())) {
+        throw BusinessException.validationError("不能将菜单的父节点设置为其子节点");
       }
 
       // 验证父菜单是否存在
@@ -129,11 +114,15 @@ public class MenuServiceImpl implements MenuService {
       }
     }
 
-    return menuRepository.save(menu);
+    Menu savedMenu = menuRepository.save(menu);
+    TransactionHooks.afterCommit(menuTreeCache::invalidate);
+    invalidationBus.publish(InvalidationEvent.Type.MENU, null);
+    return savedMenu;
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.MENU_TREE, allEntries = true)
   public void deleteMenu(Long id) {
     // 检查是否有子菜单
     if (hasChildMenu(id)) {
@@ -142,35 +131,18 @@ public class MenuServiceImpl implements MenuService {
 
     Menu menu = findById(id);
     menuRepository.delete(menu);
+    TransactionHooks.afterCommit(menuTreeCache::invalidate);
+    invalidationBus.publish(InvalidationEvent.Type.MENU, null);
   }
 
   @Override
   public List<Menu> findMenuWithChildren(Long id) {
     // 查找当前菜单及其所有子菜单
-    Menu menu = findById(id);
-    List<Menu> result = new ArrayList<>();
-    result.add(menu);
-
-    // 递归查询子菜单
-    findChildrenRecursively(id, result);
-
-    return result;
-  }
-
-  /**
-   * 递归查找子菜单
-   *
-   * @param parentId 父菜单ID
-   * @param result   结果列表
-   */
-  private void findChildrenRecursively(Long parentId, List<Menu> result) {
-    List<Menu> children = menuRepository.findByParentId(parentId, Sort.by("sort").ascending());
-    if (!children.isEmpty()) {
-      result.addAll(children);
-      for (Menu child : children) {
-        findChildrenRecursively(child.getId(), result);
-      }
+    List<Menu> result = menuRepository.findSelfAndDescendants(id);
+    if (result.isEmpty()) {
+      throw BusinessException.notFoundError("菜单不存在: ID=" + id);
     }
+    return result;
   }
 
   @Override
@@ -190,13 +162,12 @@ public class MenuServiceImpl implements MenuService {
 
   @Override
   public boolean hasChildMenu(Long id) {
-    Sort sort = Sort.by("sort").ascending();
-    List<Menu> children = menuRepository.findByParentId(id, sort);
-    return !children.isEmpty();
+    return menuRepository.existsByParentId(id);
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.MENU_TREE, allEntries = true)
   public void updateEnabled(Long id, Boolean enabled) {
     Menu menu = findById(id);
 
@@ -215,20 +186,20 @@ public class MenuServiceImpl implements MenuService {
 
     menu.setEnabled(enabled);
     menuRepository.save(menu);
+    TransactionHooks.afterCommit(menuTreeCache::invalidate);
+    invalidationBus.publish(InvalidationEvent.Type.MENU, null);
   }
 
   /**
-   * 递归更新子菜单状态
+   * 批量更新所有子菜单状态
    *
    * @param parentId 父菜单ID
    * @param enabled   状态
    */
   private void updateChildrenStatus(Long parentId, Boolean enabled) {
-    List<Menu> children = menuRepository.findByParentId(parentId, Sort.by("sort").ascending());
-    for (Menu child : children) {
-      child.setEnabled(enabled);
-      menuRepository.save(child);
-      updateChildrenStatus(child.getId(), enabled);
+    List<Long> descendantIds = menuRepository.findDescendantIds(parentId);
+    if (!descendantIds.isEmpty()) {
+      menuRepository.updateEnabledByIds(descendantIds, enabled, LocalDateTime.now());
     }
   }
 }
\ No newline at end of file
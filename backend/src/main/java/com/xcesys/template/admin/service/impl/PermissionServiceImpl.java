@@ -1,12 +1,26 @@
 package com.xcesys.template.admin.service.impl;
 
+import com.xcesys.template.admin.common.CursorPage;
+import com.xcesys.template.admin.common.InvalidationBus;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.KeysetCursor;
+import com.xcesys.template.admin.common.TransactionHooks;
+import com.xcesys.template.admin.config.CacheConfig;
+import com.xcesys.template.admin.dto.PermissionDto;
 import com.xcesys.template.admin.entity.Permission;
 import com.xcesys.template.admin.exception.BusinessException;
+import com.xcesys.template.admin.mapper.PermissionMapper;
 import com.xcesys.template.admin.repository.PermissionRepository;
+import com.xcesys.template.admin.security.AuthorityTable;
+import com.xcesys.template.admin.security.AuthorizationEngine;
 import com.xcesys.template.admin.service.PermissionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -14,6 +28,7 @@ import org.springframework.util.StringUtils;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 权限服务实现类
@@ -23,10 +38,21 @@ import java.util.Set;
 public class PermissionServiceImpl implements PermissionService {
 
   private final PermissionRepository permissionRepository;
+  private final AuthorityTable authorityTable;
+  private final AuthorizationEngine authorizationEngine;
+  private final InvalidationBus invalidationBus;
+  private final PermissionMapper permissionMapper;
 
   @Override
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.PERMISSIONS_BY_TYPE, allEntries = true)
   public void deleteAll(List<Long> ids) {
     this.permissionRepository.deleteAllById(ids);
+    TransactionHooks.afterCommit(() -> {
+      ids.forEach(authorizationEngine::removePermission);
+      authorityTable.refresh();
+    });
+    ids.forEach(id -> invalidationBus.publish(InvalidationEvent.Type.PERMISSION, id));
   }
 
   @Override
@@ -55,8 +81,18 @@ public class PermissionServiceImpl implements PermissionService {
   }
 
   @Override
-  public List<Permission> findByType(Integer type) {
-    return permissionRepository.findByType(type);
+  public CursorPage<Permission> scrollPermissions(String name, String cursor, int size, boolean withTotal) {
+    Specification<Permission> spec = (root, query, cb) -> StringUtils.hasText(name)
+        ? cb.like(root.get("name"), "%" + name + "%")
+        : cb.conjunction();
+    return KeysetCursor.scroll(permissionRepository, Permission.class, spec, Sort.by("id"), cursor, size, withTotal);
+  }
+
+  @Override
+  @Cacheable(cacheNames = CacheConfig.PERMISSIONS_BY_TYPE, key = "#type")
+  public List<PermissionDto> findByType(Integer type) {
+    // 使用具体的ArrayList，JDK内部的不可变列表无法从二级缓存还原
+    return permissionRepository.findByType(type).stream().map(permissionMapper::toDto).collect(Collectors.toList());
   }
 
   @Override
@@ -71,6 +107,7 @@ public class PermissionServiceImpl implements PermissionService {
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.PERMISSIONS_BY_TYPE, allEntries = true)
   public Permission createPermission(Permission permission) {
     // 检查权限编码是否已存在
     if (isCodeExists(permission.getCode())) {
@@ -82,11 +119,18 @@ public class PermissionServiceImpl implements PermissionService {
       permission.setEnabled(true);
     }
 
-    return permissionRepository.save(permission);
+    Permission savedPermission = permissionRepository.save(permission);
+    TransactionHooks.afterCommit(() -> {
+      authorizationEngine.putPermission(savedPermission.getId(), savedPermission.getCode());
+      authorityTable.refresh();
+    });
+    invalidationBus.publish(InvalidationEvent.Type.PERMISSION, savedPermission.getId());
+    return savedPermission;
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.PERMISSIONS_BY_TYPE, allEntries = true)
   public Permission updatePermission(Permission permission) {
     Permission existingPermission = findById(permission.getId());
 
@@ -95,11 +139,18 @@ public class PermissionServiceImpl implements PermissionService {
       throw BusinessException.conflictError("权限编码已存在: " + permission.getCode());
     }
 
-    return permissionRepository.save(permission);
+    Permission savedPermission = permissionRepository.save(permission);
+    TransactionHooks.afterCommit(() -> {
+      authorizationEngine.putPermission(savedPermission.getId(), savedPermission.getCode());
+      authorityTable.refresh();
+    });
+    invalidationBus.publish(InvalidationEvent.Type.PERMISSION, savedPermission.getId());
+    return savedPermission;
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.PERMISSIONS_BY_TYPE, allEntries = true)
   public void deletePermission(Long id) {
     Permission permission = findById(id);
 
@@ -109,14 +160,21 @@ public class PermissionServiceImpl implements PermissionService {
     }
 
     permissionRepository.delete(permission);
+    TransactionHooks.afterCommit(() -> {
+      authorizationEngine.removePermission(id);
+      authorityTable.refresh();
+    });
+    invalidationBus.publish(InvalidationEvent.Type.PERMISSION, id);
   }
 
   @Override
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.PERMISSIONS_BY_TYPE, allEntries = true)
   public void updateEnabled(Long id, Boolean enabled) {
     Permission permission = findById(id);
     permission.setEnabled(enabled);
     permissionRepository.save(permission);
+    invalidationBus.publish(InvalidationEvent.Type.PERMISSION, id);
   }
 
   @Override
@@ -126,27 +184,6 @@ public class PermissionServiceImpl implements PermissionService {
 
   @Override
   public boolean hasPermission(Long userId, List<String> permissionCodes, boolean requireAll) {
-    // 获取用户拥有的所有权限
-    Set<Permission> userPermissions = findByUserId(userId);
-
-    // 提取权限编码
-    Set<String> userPermissionCodes = userPermissions.stream()
-        .map(Permission::getCode)
-        .collect(java.util.stream.Collectors.toSet());
-
-    // 校验用户是否有管理员权限
-    boolean isAdmin = userPermissionCodes.contains("admin");
-    if (isAdmin) {
-      return true;
-    }
-
-    // 根据requireAll参数判断权限
-    if (requireAll) {
-      // 需要满足所有权限
-      return permissionCodes.stream().allMatch(userPermissionCodes::contains);
-    } else {
-      // 只需满足任一权限
-      return permissionCodes.stream().anyMatch(userPermissionCodes::contains);
-    }
+    return authorizationEngine.hasPermission(userId, permissionCodes, requireAll);
   }
 }
\ No newline at end of file
@@ -1,20 +1,41 @@
 package com.xcesys.template.admin.service.impl;
 
+import com.xcesys.template.admin.common.CursorPage;
+import com.xcesys.template.admin.common.InvalidationBus;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.KeysetCursor;
+import com.xcesys.template.admin.common.TransactionHooks;
+import com.xcesys.template.admin.config.CacheConfig;
+import com.xcesys.template.admin.dto.AssignmentResult;
+import com.xcesys.template.admin.dto.RoleDto;
 import com.xcesys.template.admin.entity.Menu;
 import com.xcesys.template.admin.entity.Permission;
 import com.xcesys.template.admin.entity.Role;
 import com.xcesys.template.admin.exception.BusinessException;
+import com.xcesys.template.admin.mapper.RoleMapper;
 import com.xcesys.template.admin.repository.MenuRepository;
 import com.xcesys.template.admin.repository.PermissionRepository;
+import com.xcesys.template.admin.repository.RelationRepository;
+import com.xcesys.template.admin.repository.RelationRepository.Relation;
 import com.xcesys.template.admin.repository.RoleRepository;
+import com.xcesys.template.admin.security.AuthorityTable;
+import com.xcesys.template.admin.security.AuthorizationEngine;
+import com.xcesys.template.admin.service.MenuTreeCache;
 import com.xcesys.template.admin.service.RoleService;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -30,6 +51,12 @@ public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final MenuRepository menuRepository;
+    private final RelationRepository relationRepository;
+    private final AuthorityTable authorityTable;
+    private final AuthorizationEngine authorizationEngine;
+    private final MenuTreeCache menuTreeCache;
+    private final InvalidationBus invalidationBus;
+    private final RoleMapper roleMapper;
 
     @Override
     public Role findById(Long id) {
@@ -61,8 +88,27 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    public List<Role> findAllRoles() {
-        return roleRepository.findAll();
+    public CursorPage<Role> scrollRoles(String name, Boolean enabled, String cursor, int size, boolean withTotal) {
+        Specification<Role> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (StringUtils.hasText(name)) {
+                predicates.add(cb.like(root.get("name"), "%" + name + "%"));
+            }
+            if (enabled != null) {
+                predicates.add(cb.equal(root.get("enabled"), enabled));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        // 显示顺序允许为空，不能作为键集排序键
+        return KeysetCursor.scroll(roleRepository, Role.class, spec, Sort.by("id"), cursor, size, withTotal);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'all'")
+    public List<RoleDto> findAllRoles() {
+        // 缓存DTO而不是实体，避免共享带延迟加载集合的托管对象；
+        // 使用具体的ArrayList，JDK内部的不可变列表无法从二级缓存还原
+        return roleRepository.findAll().stream().map(roleMapper::toDto).collect(Collectors.toList());
     }
 
     @Override
@@ -72,6 +118,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     public Role createRole(Role role) {
         // 检查角色编码是否已存在
         if (isCodeExists(role.getCode())) {
@@ -93,11 +140,18 @@ public class RoleServiceImpl implements RoleService {
             role.setDataScope(1);
         }
 
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        TransactionHooks.afterCommit(() -> {
+            authorizationEngine.putRole(savedRole.getId(), savedRole.getCode(), savedRole.getDataScope());
+            authorityTable.refresh();
+        });
+        invalidationBus.publish(InvalidationEvent.Type.ROLE, savedRole.getId());
+        return savedRole;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     public Role updateRole(Role role) {
         Role existingRole = findById(role.getId());
 
@@ -111,11 +165,19 @@ public class RoleServiceImpl implements RoleService {
             throw BusinessException.conflictError("角色名称已存在: " + role.getName());
         }
 
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        TransactionHooks.afterCommit(() -> {
+            // 授权引擎递增角色版本号，数据范围变化后已缓存的认证对象在下次访问时重新构建
+            authorizationEngine.putRole(savedRole.getId(), savedRole.getCode(), savedRole.getDataScope());
+            authorityTable.refresh();
+        });
+        invalidationBus.publish(InvalidationEvent.Type.ROLE, savedRole.getId());
+        return savedRole;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     public void deleteRole(Long id) {
         Role role = findById(id);
         
@@ -125,10 +187,17 @@ public class RoleServiceImpl implements RoleService {
         }
         
         roleRepository.delete(role);
+        TransactionHooks.afterCommit(() -> {
+            authorizationEngine.removeRole(id);
+            authorityTable.refresh();
+            menuTreeCache.invalidate();
+        });
+        invalidationBus.publish(InvalidationEvent.Type.ROLE, id);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     public void updateEnabled(Long id, Boolean enabled) {
         Role role = findById(id);
         
@@ -139,48 +208,64 @@ public class RoleServiceImpl implements RoleService {
         
         role.setEnabled(enabled);
         roleRepository.save(role);
+        TransactionHooks.afterCommit(() -> authorizationEngine.putRole(role.getId(), role.getCode(), role.getDataScope()));
+        invalidationBus.publish(InvalidationEvent.Type.ROLE, role.getId());
     }
 
     @Override
     @Transactional
-    public void assignPermissions(Long roleId, Set<Long> permissionIds) {
-        Role role = findById(roleId);
-        
-        // 清空原有权限
-        role.getPermissions().clear();
-        
-        // 添加新权限
-        if (permissionIds != null && !permissionIds.isEmpty()) {
-            Set<Permission> permissions = permissionIds.stream()
-                    .map(permissionId -> permissionRepository.findById(permissionId)
-                            .orElseThrow(() -> BusinessException.notFoundError("权限不存在: ID=" + permissionId)))
-                    .collect(Collectors.toSet());
-            
-            role.getPermissions().addAll(permissions);
+    public AssignmentResult assignPermissions(Long roleId, Set<Long> permissionIds) {
+        checkExists(roleId);
+        Set<Long> targetIds = permissionIds != null ? permissionIds : Collections.emptySet();
+
+        // 一次查询校验所有权限是否存在
+        Set<Long> existingIds = permissionRepository.findAllById(targetIds).stream()
+                .map(Permission::getId)
+                .collect(Collectors.toSet());
+        targetIds.stream().filter(id -> !existingIds.contains(id)).findFirst().ifPresent(id -> {
+            throw BusinessException.notFoundError("权限不存在: ID=" + id);
+        });
+
+        AssignmentResult result = relationRepository.replace(Relation.ROLE_PERMISSION, roleId, targetIds);
+        if (result.isChanged()) {
+            Set<Long> assignedIds = Set.copyOf(targetIds);
+            TransactionHooks.afterCommit(() -> authorizationEngine.setRolePermissions(roleId, assignedIds));
+            invalidationBus.publish(InvalidationEvent.Type.ROLE, roleId);
         }
-        
-        roleRepository.save(role);
+        return result;
     }
 
     @Override
     @Transactional
-    public void assignMenus(Long roleId, Set<Long> menuIds) {
-        Role role = findById(roleId);
-        
-        // 清空原有菜单
-        role.getMenus().clear();
-        
-        // 添加新菜单
-        if (menuIds != null && !menuIds.isEmpty()) {
-            Set<Menu> menus = menuIds.stream()
-                    .map(menuId -> menuRepository.findById(menuId)
-                            .orElseThrow(() -> BusinessException.notFoundError("菜单不存在: ID=" + menuId)))
-                    .collect(Collectors.toSet());
-            
-            role.getMenus().addAll(menus);
+    public AssignmentResult assignMenus(Long roleId, Set<Long> menuIds) {
+        checkExists(roleId);
+        Set<Long> targetIds = menuIds != null ? menuIds : Collections.emptySet();
+
+        // 一次查询校验所有菜单是否存在
+        Set<Long> existingIds = menuRepository.findAllById(targetIds).stream()
+                .map(Menu::getId)
+                .collect(Collectors.toSet());
+        targetIds.stream().filter(id -> !existingIds.contains(id)).findFirst().ifPresent(id -> {
+            throw BusinessException.notFoundError("菜单不存在: ID=" + id);
+        });
+
+        AssignmentResult result = relationRepository.replace(Relation.ROLE_MENU, roleId, targetIds);
+        if (result.isChanged()) {
+            TransactionHooks.afterCommit(menuTreeCache::invalidate);
+            invalidationBus.publish(InvalidationEvent.Type.MENU, null);
+        }
+        return result;
+    }
+
+    /**
+     * 检查角色是否存在
+     *
+     * @param roleId 角色ID
+     */
+    private void checkExists(Long roleId) {
+        if (!roleRepository.existsById(roleId)) {
+            throw BusinessException.notFoundError("角色不存在: ID=" + roleId);
         }
-        
-        roleRepository.save(role);
     }
 
     @Override
@@ -192,4 +277,14 @@ public class RoleServiceImpl implements RoleService {
     public boolean isNameExists(String name) {
         return roleRepository.findByName(name).isPresent();
     }
+
+    @Override
+    public Set<Long> getRolePermissionIds(Long roleId) {
+        return roleRepository.findPermissionIdsByRoleId(roleId);
+    }
+
+    @Override
+    public Set<Long> getRoleMenuIds(Long roleId) {
+        return roleRepository.findMenuIdsByRoleId(roleId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,327 @@
+package com.xcesys.template.admin.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xcesys.template.admin.config.HibernateFilterBinder;
+import com.xcesys.template.admin.dto.ImportResult;
+import com.xcesys.template.admin.dto.UserDto;
+import com.xcesys.template.admin.entity.User;
+import com.xcesys.template.admin.exception.BusinessException;
+import com.xcesys.template.admin.repository.DepartmentRepository;
+import com.xcesys.template.admin.repository.UserRepository;
+import com.xcesys.template.admin.service.UserImportService;
+import com.xcesys.template.admin.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 用户批量导入服务实现类
+ * 在请求线程上逐行读取并解析数据流，每积累一块数据就在公共ForkJoinPool中并行校验格式，
+ * 用IN查询校验唯一性和部门归属，再交给UserService.createUsers在独立事务中批量写入，任意时刻内存中只保留一块数据
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final DepartmentRepository departmentRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final HibernateFilterBinder filterBinder;
+
+    @Value("${app.user-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.user-import.max-errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public ImportResult importUsers(InputStream input, Format format) throws IOException {
+        ImportResult result = new ImportResult();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        long lineNumber = 0;
+        Map<String, Integer> header = null;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+
+            ImportRow row = new ImportRow(lineNumber);
+            try {
+                row.dto = format == Format.CSV ? parseCsv(line, header) : objectMapper.readValue(line, UserDto.class);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                row.error = "数据格式错误";
+            }
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, result);
+        }
+
+        log.info("用户导入完成：共{}行，成功{}行，失败{}行", result.getTotal(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * 校验并写入一块数据
+     *
+     * @param chunk  数据块
+     * @param result 导入结果
+     */
+    private void processChunk(List<ImportRow> chunk, ImportResult result) {
+        // 格式校验与数据库无关，并行执行
+        chunk.parallelStream().filter(ImportRow::isValid).forEach(this::validate);
+
+        checkUnique(chunk, UserDto::getUsername, userRepository::findExistingUsernames, "用户名");
+        checkUnique(chunk, UserDto::getEmail, userRepository::findExistingEmails, "邮箱");
+        checkUnique(chunk, UserDto::getPhone, userRepository::findExistingPhones, "手机号");
+        checkDepartments(chunk);
+
+        List<ImportRow> validRows = chunk.stream().filter(ImportRow::isValid).toList();
+        if (!validRows.isEmpty()) {
+            try {
+                // 密码哈希在批量哈希线程池中并行执行，整块在一个事务中批量插入
+                result.setImported(result.getImported() + userService.createUsers(
+                        validRows.stream().map(row -> toUser(row.dto)).toList()));
+            } catch (BusinessException | DataAccessException e) {
+                // 校验之后被并发写入的数据冲突，整块回滚
+                String message = e instanceof BusinessException ? e.getMessage() : "数据写入失败";
+                validRows.forEach(row -> row.error = message);
+            }
+        }
+
+        result.setTotal(result.getTotal() + chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.isValid()) {
+                continue;
+            }
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxErrors) {
+                String username = row.dto != null ? row.dto.getUsername() : null;
+                result.getErrors().add(new ImportResult.RowError(row.line, username, row.error));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    /**
+     * 校验单行数据格式
+     *
+     * @param row 数据行
+     */
+    private void validate(ImportRow row) {
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(row.dto);
+        if (!violations.isEmpty()) {
+            row.error = violations.iterator().next().getMessage();
+        } else if (!StringUtils.hasText(row.dto.getPassword())) {
+            row.error = "密码不能为空";
+        }
+    }
+
+    /**
+     * 校验某个唯一字段在块内和库内都不重复，重复的行标记为失败
+     *
+     * @param chunk     数据块
+     * @param getter    字段读取方法
+     * @param finder    已存在值查询方法
+     * @param fieldName 字段名称
+     */
+    private void checkUnique(List<ImportRow> chunk, Function<UserDto, String> getter,
+                             Function<Collection<String>, List<String>> finder, String fieldName) {
+        Set<String> values = new HashSet<>();
+        for (ImportRow row : chunk) {
+            String value = row.isValid() ? getter.apply(row.dto) : null;
+            if (StringUtils.hasText(value) && !values.add(value)) {
+                row.error = fieldName + "重复: " + value;
+            }
+        }
+        if (values.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(filterBinder.withoutDataScope(() -> finder.apply(values)));
+        if (existing.isEmpty()) {
+            return;
+        }
+        for (ImportRow row : chunk) {
+            if (row.isValid() && existing.contains(getter.apply(row.dto))) {
+                row.error = fieldName + "已存在: " + getter.apply(row.dto);
+            }
+        }
+    }
+
+    /**
+     * 校验部门在导入者的租户和数据范围内，查询经过租户和数据范围过滤条件，查不到的部门行标记为失败
+     *
+     * @param chunk 数据块
+     */
+    private void checkDepartments(List<ImportRow> chunk) {
+        Set<Long> deptIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.isValid() && row.dto.getDepartmentId() != null) {
+                deptIds.add(row.dto.getDepartmentId());
+            }
+        }
+        if (deptIds.isEmpty()) {
+            return;
+        }
+        Set<Long> visible = new HashSet<>(departmentRepository.findExistingIds(deptIds));
+        for (ImportRow row : chunk) {
+            Long deptId = row.isValid() ? row.dto.getDepartmentId() : null;
+            if (deptId != null && !visible.contains(deptId)) {
+                row.error = "部门不存在或无权访问: " + deptId;
+            }
+        }
+    }
+
+    /**
+     * 解析CSV表头
+     *
+     * @param line 表头行
+     * @return 列名（小写）到列序号的映射
+     */
+    private Map<String, Integer> parseHeader(String line) {
+        List<String> columns = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!header.containsKey("username") || !header.containsKey("password")) {
+            throw BusinessException.validationError("CSV表头必须包含username和password列");
+        }
+        return header;
+    }
+
+    /**
+     * 按表头解析CSV数据行
+     *
+     * @param line   数据行
+     * @param header 表头
+     * @return 用户信息
+     */
+    private UserDto parseCsv(String line, Map<String, Integer> header) {
+        List<String> fields = splitCsv(line);
+        Function<String, String> field = name -> {
+            Integer index = header.get(name);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        };
+
+        UserDto dto = new UserDto();
+        dto.setUsername(field.apply("username"));
+        dto.setPassword(field.apply("password"));
+        dto.setNickname(field.apply("nickname"));
+        dto.setEmail(field.apply("email"));
+        dto.setPhone(field.apply("phone"));
+        String gender = field.apply("gender");
+        dto.setGender(gender != null ? Integer.valueOf(gender) : null);
+        String departmentId = field.apply("departmentid");
+        dto.setDepartmentId(departmentId != null ? Long.valueOf(departmentId) : null);
+        String enabled = field.apply("enabled");
+        dto.setEnabled(enabled == null || Boolean.parseBoolean(enabled) || "1".equals(enabled));
+        return dto;
+    }
+
+    /**
+     * 拆分CSV行，支持双引号包裹的字段和""转义，不支持字段内换行
+     *
+     * @param line 数据行
+     * @return 字段列表
+     */
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private User toUser(UserDto dto) {
+        User user = new User();
+        user.setUsername(dto.getUsername());
+        user.setPassword(dto.getPassword());
+        user.setNickname(dto.getNickname());
+        user.setEmail(dto.getEmail());
+        user.setPhone(dto.getPhone());
+        user.setGender(dto.getGender());
+        user.setEnabled(dto.getEnabled());
+        user.setDepartmentId(dto.getDepartmentId());
+        return user;
+    }
+
+    /**
+     * 导入数据行
+     */
+    private static class ImportRow {
+
+        private final long line;
+        private UserDto dto;
+        private volatile String error;
+
+        ImportRow(long line) {
+            this.line = line;
+        }
+
+        boolean isValid() {
+            return error == null;
+        }
+    }
+}
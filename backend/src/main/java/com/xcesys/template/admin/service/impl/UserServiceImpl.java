@@ -1,26 +1,50 @@
 package com.xcesys.template.admin.service.impl;
 
-import com.xcesys.template.admin.entity.Permission;
+import com.xcesys.template.admin.common.CursorPage;
+import com.xcesys.template.admin.common.InvalidationBus;
+import com.xcesys.template.admin.common.InvalidationEvent;
+import com.xcesys.template.admin.common.KeysetCursor;
+import com.xcesys.template.admin.common.TransactionHooks;
+import com.xcesys.template.admin.config.HibernateFilterBinder;
+import com.xcesys.template.admin.dto.AssignmentResult;
 import com.xcesys.template.admin.entity.Role;
 import com.xcesys.template.admin.entity.User;
 import com.xcesys.template.admin.exception.BusinessException;
-import com.xcesys.template.admin.repository.PermissionRepository;
+import com.xcesys.template.admin.repository.RelationRepository;
+import com.xcesys.template.admin.repository.RelationRepository.Relation;
 import com.xcesys.template.admin.repository.RoleRepository;
 import com.xcesys.template.admin.repository.UserRepository;
+import com.xcesys.template.admin.security.AuthorizationEngine;
+import com.xcesys.template.admin.security.BoundedPasswordEncoder;
+import com.xcesys.template.admin.security.RefreshTokenService;
 import com.xcesys.template.admin.security.UserDetailsImpl;
+import com.xcesys.template.admin.service.UserSearchIndex;
 import com.xcesys.template.admin.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,16 +56,27 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PermissionRepository permissionRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RelationRepository relationRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final AuthorizationEngine authorizationEngine;
+    private final RefreshTokenService refreshTokenService;
+    private final UserSearchIndex userSearchIndex;
+    private final EntityManager entityManager;
+    private final InvalidationBus invalidationBus;
+    private final HibernateFilterBinder filterBinder;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
     @Override
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> BusinessException.notFoundError("用户不存在: " + username));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> BusinessException.notFoundError("用户不存在: ID=" + id));
@@ -78,7 +113,69 @@ public class UserServiceImpl implements UserService {
             user.setEnabled(true);
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        TransactionHooks.afterCommit(() -> {
+            authorizationEngine.setUserEnabled(savedUser.getId(), Boolean.TRUE.equals(savedUser.getEnabled()));
+            authorizationEngine.setUserDepartment(savedUser.getId(), savedUser.getDepartmentId());
+        });
+        invalidationBus.publish(InvalidationEvent.Type.USER, savedUser.getId());
+        return savedUser;
+    }
+
+    @Override
+    @Transactional
+    public int createUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        for (User user : users) {
+            if (!StringUtils.hasText(user.getUsername()) || !StringUtils.hasText(user.getPassword())) {
+                throw BusinessException.validationError("用户名和密码不能为空");
+            }
+        }
+
+        // 批内重复和库内重复各只检查一次
+        checkUnique(users, User::getUsername, userRepository::findExistingUsernames, "用户名");
+        checkUnique(users, User::getEmail, userRepository::findExistingEmails, "邮箱");
+        checkUnique(users, User::getPhone, userRepository::findExistingPhones, "手机号");
+
+        // 密码哈希耗时最长，在批量哈希线程池中计算，不占用登录哈希的线程和等待队列
+        List<String> encodedPasswords = passwordEncoder.encodeAll(users.stream().map(User::getPassword).toList());
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setPassword(encodedPasswords.get(i));
+        }
+        for (User user : users) {
+            if (!StringUtils.hasText(user.getAvatar())) {
+                user.setAvatar("/avatar/default.jpg");
+            }
+            if (user.getEnabled() == null) {
+                user.setEnabled(true);
+            }
+        }
+
+        // 按批次写入并清理持久化上下文，避免大批量导入时一级缓存无限增长
+        Map<Long, Long> departments = new HashMap<>();
+        Set<Long> disabledIds = new HashSet<>();
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> batch = users.subList(from, Math.min(from + batchSize, users.size()));
+            for (User saved : userRepository.saveAll(batch)) {
+                departments.put(saved.getId(), saved.getDepartmentId());
+                if (!Boolean.TRUE.equals(saved.getEnabled())) {
+                    disabledIds.add(saved.getId());
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        TransactionHooks.afterCommit(() -> departments.forEach((userId, departmentId) -> {
+            authorizationEngine.setUserEnabled(userId, !disabledIds.contains(userId));
+            authorizationEngine.setUserDepartment(userId, departmentId);
+        }));
+        // 新用户没有角色，其他节点未加载的用户本就视为启用且无任何权限，只需通知停用的用户，避免整体重新加载
+        disabledIds.forEach(userId -> invalidationBus.publish(InvalidationEvent.Type.USER, userId));
+        return users.size();
     }
 
     @Override
@@ -108,7 +205,17 @@ public class UserServiceImpl implements UserService {
         // 不更新密码，密码应该通过专门的方法更新
         user.setPassword(existingUser.getPassword());
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        TransactionHooks.afterCommit(() -> {
+            authorizationEngine.setUserEnabled(savedUser.getId(), Boolean.TRUE.equals(savedUser.getEnabled()));
+            // 授权引擎递增该用户的版本号，部门变化后已缓存的认证对象在下次访问时重新构建
+            authorizationEngine.setUserDepartment(savedUser.getId(), savedUser.getDepartmentId());
+            if (!Boolean.TRUE.equals(savedUser.getEnabled())) {
+                refreshTokenService.revokeAll(savedUser.getId());
+            }
+        });
+        invalidationBus.publish(InvalidationEvent.Type.USER, savedUser.getId());
+        return savedUser;
     }
 
     @Override
@@ -116,12 +223,18 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         User user = findById(id);
         userRepository.delete(user);
+        TransactionHooks.afterCommit(() -> {
+            authorizationEngine.removeUser(id);
+            refreshTokenService.revokeAll(id);
+        });
+        invalidationBus.publish(InvalidationEvent.Type.USER, id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<User> findUsers(String keyword, Long deptId, Boolean enabled, Pageable pageable) {
         if (StringUtils.hasText(keyword)) {
-            return userRepository.findByKeyword(keyword, pageable);
+            return userSearchIndex.search(keyword, pageable);
         } else if (deptId != null && enabled != null) {
             return userRepository.findByDepartmentIdAndEnabled(deptId, enabled, pageable);
         } else {
@@ -130,6 +243,34 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<User> scrollUsers(String keyword, Long deptId, Boolean enabled, String cursor, int size,
+                                        boolean withTotal) {
+        Specification<User> spec = (root, query, cb) -> {
+            // 统计总数时不能抓取关联
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("company", JoinType.LEFT);
+                root.fetch("department", JoinType.LEFT);
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (StringUtils.hasText(keyword)) {
+                predicates.add(cb.or(cb.like(root.get("username"), "%" + keyword + "%"),
+                        cb.like(root.get("nickname"), "%" + keyword + "%")));
+            }
+            if (deptId != null) {
+                predicates.add(cb.equal(root.get("departmentId"), deptId));
+            }
+            if (enabled != null) {
+                predicates.add(cb.equal(root.get("enabled"), enabled));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        Sort sort = Sort.by(Sort.Order.desc("createTime"), Sort.Order.desc("id"));
+        return KeysetCursor.scroll(userRepository, User.class, spec, sort, cursor, size, withTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<User> findByDeptId(Long deptId) {
         return userRepository.findByDepartmentId(deptId);
     }
@@ -144,9 +285,10 @@ public class UserServiceImpl implements UserService {
             throw BusinessException.validationError("旧密码不正确");
         }
         
-        // 加密并更新新密码
+        // 加密并更新新密码，其他会话需要重新登录
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        TransactionHooks.afterCommit(() -> refreshTokenService.revokeAll(userId));
     }
 
     @Override
@@ -157,9 +299,10 @@ public class UserServiceImpl implements UserService {
         // 生成随机密码：8位字符，包含字母、数字
         String newPassword = generateRandomPassword(8);
         
-        // 加密并更新密码
+        // 加密并更新密码，已签发的刷新令牌随之作废
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        TransactionHooks.afterCommit(() -> refreshTokenService.revokeAll(userId));
         
         return newPassword;
     }
@@ -170,29 +313,42 @@ public class UserServiceImpl implements UserService {
         User user = findById(userId);
         user.setEnabled(enabled);
         userRepository.save(user);
+        TransactionHooks.afterCommit(() -> {
+            authorizationEngine.setUserEnabled(userId, Boolean.TRUE.equals(enabled));
+            if (!Boolean.TRUE.equals(enabled)) {
+                refreshTokenService.revokeAll(userId);
+            }
+        });
+        invalidationBus.publish(InvalidationEvent.Type.USER, userId);
     }
 
     @Override
     @Transactional
-    public void assignRoles(Long userId, Set<Long> roleIds) {
-        User user = findById(userId);
-        
-        // 清空原有角色
-        user.getRoles().clear();
-        
-        // 添加新角色
-        if (roleIds != null && !roleIds.isEmpty()) {
-            roleIds.forEach(roleId -> {
-                Role role = roleRepository.findById(roleId)
-                        .orElseThrow(() -> BusinessException.notFoundError("角色不存在: ID=" + roleId));
-                user.getRoles().add(role);
-            });
+    public AssignmentResult assignRoles(Long userId, Set<Long> roleIds) {
+        if (!userRepository.existsById(userId)) {
+            throw BusinessException.notFoundError("用户不存在: ID=" + userId);
         }
-        
-        userRepository.save(user);
+        Set<Long> targetIds = roleIds != null ? roleIds : Collections.emptySet();
+
+        // 一次查询校验所有角色是否存在
+        Set<Long> existingIds = roleRepository.findAllById(targetIds).stream()
+                .map(Role::getId)
+                .collect(Collectors.toSet());
+        targetIds.stream().filter(id -> !existingIds.contains(id)).findFirst().ifPresent(id -> {
+            throw BusinessException.notFoundError("角色不存在: ID=" + id);
+        });
+
+        AssignmentResult result = relationRepository.replace(Relation.USER_ROLE, userId, targetIds);
+        if (result.isChanged()) {
+            Set<Long> assignedIds = Set.copyOf(targetIds);
+            TransactionHooks.afterCommit(() -> authorizationEngine.setUserRoles(userId, assignedIds));
+            invalidationBus.publish(InvalidationEvent.Type.USER, userId);
+        }
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getCurrentUser(Authentication authentication) {
         if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl)) {
             throw BusinessException.unauthorizedError("用户未登录");
@@ -203,34 +359,74 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isUsernameExists(String username) {
-        return userRepository.existsByUsername(username);
+        return filterBinder.withoutDataScope(() -> userRepository.existsByUsername(username));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isEmailExists(String email) {
-        return userRepository.existsByEmail(email);
+        return filterBinder.withoutDataScope(() -> userRepository.existsByEmail(email));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isPhoneExists(String phone) {
-        return userRepository.existsByPhone(phone);
+        return filterBinder.withoutDataScope(() -> userRepository.existsByPhone(phone));
     }
 
     @Override
     public Set<String> getUserPermissions(Long userId) {
-        Set<Permission> permissions = permissionRepository.findByUserId(userId);
-        return permissions.stream()
-                .map(Permission::getCode)
-                .collect(Collectors.toSet());
+        return authorizationEngine.getPermissionCodes(userId);
     }
 
     @Override
     public Set<String> getUserRoles(Long userId) {
-        Set<Role> roles = roleRepository.findByUserId(userId);
-        return roles.stream()
-                .map(Role::getCode)
-                .collect(Collectors.toSet());
+        return authorizationEngine.getRoleCodes(userId);
+    }
+
+    @Override
+    public Set<Long> getUserRoleIds(Long userId) {
+        return authorizationEngine.getRoleIds(userId);
+    }
+
+    @Override
+    @Transactional
+    public void recordLoginFailures(Map<String, Integer> failures, Set<String> resets, int maxAttempts) {
+        // 先清零再累加，成功登录之后的失败次数不会被覆盖
+        if (!resets.isEmpty()) {
+            userRepository.resetLoginFailCount(resets);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        failures.forEach((username, delta) ->
+                userRepository.incrementLoginFailCount(username, delta, maxAttempts, now));
+    }
+
+    /**
+     * 检查批量数据中某个唯一字段在批内和库内都不重复
+     *
+     * @param users     用户列表
+     * @param getter    字段读取方法
+     * @param finder    已存在值查询方法
+     * @param fieldName 字段名称
+     */
+    private void checkUnique(List<User> users, Function<User, String> getter,
+                             Function<Collection<String>, List<String>> finder, String fieldName) {
+        Set<String> values = new HashSet<>();
+        for (User user : users) {
+            String value = getter.apply(user);
+            if (StringUtils.hasText(value) && !values.add(value)) {
+                throw BusinessException.conflictError(fieldName + "重复: " + value);
+            }
+        }
+        if (values.isEmpty()) {
+            return;
+        }
+        List<String> existing = filterBinder.withoutDataScope(() -> finder.apply(values));
+        if (!existing.isEmpty()) {
+            throw BusinessException.conflictError(fieldName + "已存在: " + String.join(", ", existing));
+        }
     }
 
     /**
@@ -36,7 +36,8 @@ INSERT INTO sys_permission (name, code, type, enabled, create_time, update_time)
 ('权限查询', 'system:permission:list', 1, 0, NOW(), NOW()),
 ('权限新增', 'system:permission:add', 1, 0, NOW(), NOW()),
 ('权限编辑', 'system:permission:edit', 1, 0, NOW(), NOW()),
-('权限删除', 'system:permission:delete', 1, 0, NOW(), NOW())
+('权限删除', 'system:permission:delete', 1, 0, NOW(), NOW()),
+('监控指标', 'system:monitor:metrics', 1, 0, NOW(), NOW())
 ;
 
 -- 创建角色
@@ -1,3 +1,9 @@
+-- 主键生成器表（号段分配，支持批量插入）
+CREATE TABLE IF NOT EXISTS sys_id_generator (
+    name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
 -- 用户表
 CREATE TABLE IF NOT EXISTS sys_user (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -15,9 +21,13 @@ CREATE TABLE IF NOT EXISTS sys_user (
     update_by VARCHAR(50),
     version INTEGER DEFAULT 0,
     remark VARCHAR(500),
-    deleted BOOLEAN DEFAULT FALSE
+    deleted BOOLEAN DEFAULT FALSE,
+    FULLTEXT INDEX ft_user_keyword (username, nickname) WITH PARSER ngram
 );
 
+-- 已有数据库补建用户检索全文索引
+-- ALTER TABLE sys_user ADD FULLTEXT INDEX ft_user_keyword (username, nickname) WITH PARSER ngram;
+
 -- 角色表
 CREATE TABLE IF NOT EXISTS sys_role (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -62,4 +72,13 @@ CREATE TABLE IF NOT EXISTS sys_role_permission (
     role_id BIGINT,
     permission_id BIGINT,
     PRIMARY KEY (role_id, permission_id)
-);
\ No newline at end of file
+);
+
+-- 部门闭包表
+CREATE TABLE IF NOT EXISTS sys_department_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    INDEX idx_department_closure_descendant (descendant_id, depth)
+);
@@ -0,0 +1,28 @@
+-- 增量结构升级脚本
+-- 应用启动时在所有环境执行，用于为已有数据库补建后续版本新增的表和基础数据，所有语句必须可重复执行
+
+-- 主键生成器表（号段起始值在启动时由IdGeneratorInitializer推进到现有最大ID之后）
+CREATE TABLE IF NOT EXISTS sys_id_generator (
+    name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+-- 部门闭包表（已有部门层级在启动完成后由DepartmentServiceImpl.initClosure回填）
+CREATE TABLE IF NOT EXISTS sys_department_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    INDEX idx_department_closure_descendant (descendant_id, depth)
+);
+
+-- 监控指标权限（管理端口与业务端口相同时访问监控端点所需），授予超级管理员角色
+INSERT INTO sys_permission (id, name, code, type, enabled, create_time, update_time)
+SELECT next_id, '监控指标', 'system:monitor:metrics', 1, TRUE, NOW(), NOW()
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_id FROM sys_permission) p
+WHERE NOT EXISTS (SELECT 1 FROM sys_permission WHERE code = 'system:monitor:metrics');
+
+INSERT INTO sys_role_permission (role_id, permission_id)
+SELECT r.id, p.id FROM sys_role r JOIN sys_permission p ON p.code = 'system:monitor:metrics'
+WHERE r.code = 'admin'
+  AND NOT EXISTS (SELECT 1 FROM sys_role_permission rp WHERE rp.role_id = r.id AND rp.permission_id = p.id);
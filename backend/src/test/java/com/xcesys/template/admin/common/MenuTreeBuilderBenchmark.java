@@ -0,0 +1,66 @@
+package com.xcesys.template.admin.common;
+
+import com.xcesys.template.admin.dto.MenuTreeNode;
+import com.xcesys.template.admin.entity.Menu;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 菜单树构建基准测试：合成的菜单列表按随机顺序给出，
+ * random为随机挂到任一已有节点下的宽树，chain为每个节点挂在上一个节点下的单链（最深的情况）
+ * <p>
+ * 运行：mvn -P benchmark test-compile exec:exec -Dbenchmark=MenuTreeBuilderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MenuTreeBuilderBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  @Param({"random", "chain"})
+  private String shape;
+
+  private List<Menu> menus;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    menus = new ArrayList<>(size);
+    for (long id = 1; id <= size; id++) {
+      Menu menu = new Menu();
+      menu.setId(id);
+      menu.setName("menu-" + id);
+      menu.setSort(random.nextInt(100));
+      if (id > 1) {
+        menu.setParentId("chain".equals(shape) ? id - 1 : 1 + (long) random.nextInt((int) id - 1));
+      }
+      menus.add(menu);
+    }
+    Collections.shuffle(menus, random);
+  }
+
+  @Benchmark
+  public List<MenuTreeNode> build() {
+    return MenuTreeBuilder.build(menus);
+  }
+}
@@ -0,0 +1,72 @@
+package com.xcesys.template.admin.common;
+
+import com.xcesys.template.admin.dto.PermissionDto;
+import com.xcesys.template.admin.dto.RoleDto;
+import com.xcesys.template.admin.entity.Permission;
+import com.xcesys.template.admin.entity.Role;
+import com.xcesys.template.admin.mapper.PermissionMapperImpl;
+import com.xcesys.template.admin.mapper.RoleMapperImpl;
+import com.xcesys.template.admin.repository.MenuRepository;
+import com.xcesys.template.admin.repository.PermissionRepository;
+import com.xcesys.template.admin.repository.RelationRepository;
+import com.xcesys.template.admin.repository.RoleRepository;
+import com.xcesys.template.admin.security.AuthorityTable;
+import com.xcesys.template.admin.security.AuthorizationEngine;
+import com.xcesys.template.admin.service.MenuTreeCache;
+import com.xcesys.template.admin.service.impl.PermissionServiceImpl;
+import com.xcesys.template.admin.service.impl.RoleServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 二级缓存序列化测试：每个写入Redis的缓存返回值都必须能原样还原
+ */
+class SmileRedisSerializerTest {
+
+  private final SmileRedisSerializer serializer = new SmileRedisSerializer();
+
+  @Test
+  void roundTripsCachedRoles() {
+    Role role = new Role();
+    role.setId(1L);
+    role.setName("管理员");
+    role.setCode("admin");
+    role.setSort(1);
+    role.setEnabled(true);
+    role.setDataScope(1);
+    RoleRepository roleRepository = mock(RoleRepository.class);
+    when(roleRepository.findAll()).thenReturn(List.of(role));
+    RoleServiceImpl roleService = new RoleServiceImpl(roleRepository, mock(PermissionRepository.class),
+        mock(MenuRepository.class), mock(RelationRepository.class), mock(AuthorityTable.class),
+        mock(AuthorizationEngine.class), mock(MenuTreeCache.class), mock(InvalidationBus.class),
+        new RoleMapperImpl());
+
+    List<RoleDto> roles = roleService.findAllRoles();
+
+    assertThat(serializer.deserialize(serializer.serialize(roles))).isEqualTo(roles);
+  }
+
+  @Test
+  void roundTripsCachedPermissionsByType() {
+    Permission permission = new Permission();
+    permission.setId(1L);
+    permission.setName("用户查询");
+    permission.setCode("system:user:list");
+    permission.setType(1);
+    permission.setEnabled(true);
+    PermissionRepository permissionRepository = mock(PermissionRepository.class);
+    when(permissionRepository.findByType(1)).thenReturn(List.of(permission));
+    PermissionServiceImpl permissionService = new PermissionServiceImpl(permissionRepository,
+        mock(AuthorityTable.class), mock(AuthorizationEngine.class), mock(InvalidationBus.class),
+        new PermissionMapperImpl());
+
+    List<PermissionDto> permissions = permissionService.findByType(1);
+
+    assertThat(serializer.deserialize(serializer.serialize(permissions))).isEqualTo(permissions);
+  }
+}
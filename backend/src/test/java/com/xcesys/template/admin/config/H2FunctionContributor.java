@@ -0,0 +1,25 @@
+package com.xcesys.template.admin.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * 测试环境的H2替代函数
+ * H2不支持MATCH ... AGAINST，以列值是否出现在查询串中近似全文检索；排序值大于MySqlFunctionContributor，后注册覆盖
+ */
+public class H2FunctionContributor implements FunctionContributor {
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    functionContributions.getFunctionRegistry().registerPattern(
+        MySqlFunctionContributor.MATCH_AGAINST,
+        "(case when locate(?1, ?3) > 0 or locate(?2, ?3) > 0 then 1.0 else 0.0 end)",
+        functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+  }
+
+  @Override
+  public int ordinal() {
+    return 2000;
+  }
+}
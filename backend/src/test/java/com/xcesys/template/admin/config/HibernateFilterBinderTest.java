@@ -0,0 +1,153 @@
+package com.xcesys.template.admin.config;
+
+import com.xcesys.template.admin.entity.Company;
+import com.xcesys.template.admin.entity.Department;
+import com.xcesys.template.admin.entity.User;
+import com.xcesys.template.admin.repository.CompanyRepository;
+import com.xcesys.template.admin.repository.DepartmentRepository;
+import com.xcesys.template.admin.repository.UserRepository;
+import com.xcesys.template.admin.security.DataScopeFilter;
+import com.xcesys.template.admin.security.TenantAware;
+import com.xcesys.template.admin.security.TenantAwareImpl;
+import com.xcesys.template.admin.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 过滤条件测试：未声明事务的派生查询同样只能看到当前租户的数据，唯一性校验不受数据范围限制，
+ * 导入时的部门校验受租户和数据范围限制
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({JpaConfig.class, HibernateFilterBinder.class, TenantAwareImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HibernateFilterBinderTest {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private CompanyRepository companyRepository;
+
+  @Autowired
+  private DepartmentRepository departmentRepository;
+
+  @Autowired
+  private TenantAware tenantAware;
+
+  @Autowired
+  private HibernateFilterBinder filterBinder;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private Long companyA;
+
+  private Long companyB;
+
+  private Long aliceId;
+
+  @BeforeEach
+  void setUp() {
+    companyA = companyRepository.save(company("a")).getId();
+    companyB = companyRepository.save(company("b")).getId();
+    aliceId = userRepository.save(user("alice", companyA)).getId();
+    userRepository.saveAll(List.of(user("bob", companyB), user("carol", companyA)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    tenantAware.clear();
+    SecurityContextHolder.clearContext();
+    userRepository.deleteAll();
+    departmentRepository.deleteAll();
+    companyRepository.deleteAll();
+  }
+
+  @Test
+  void derivedQueryOutsideTransactionSeesOnlyCurrentTenant() {
+    tenantAware.setCurrentTenantId(companyA);
+
+    assertThat(userRepository.findByUsername("alice")).isPresent();
+    assertThat(userRepository.findByUsername("bob")).isEmpty();
+    assertThat(userRepository.existsByUsername("bob")).isFalse();
+  }
+
+  @Test
+  void derivedQueryWithoutTenantSeesAllTenants() {
+    assertThat(userRepository.findByUsername("alice")).isPresent();
+    assertThat(userRepository.findByUsername("bob")).isPresent();
+  }
+
+  @Test
+  void uniquenessCheckIgnoresDataScopeButNotTenant() {
+    tenantAware.setCurrentTenantId(companyA);
+    UserDetailsImpl principal = new UserDetailsImpl(aliceId, "alice", "", true, companyA, List.of(),
+        new DataScopeFilter(false, Set.of(), aliceId));
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      assertThat(userRepository.findByUsername("carol")).isEmpty();
+      assertThat(filterBinder.withoutDataScope(() -> userRepository.existsByUsername("carol"))).isTrue();
+      assertThat(filterBinder.withoutDataScope(() -> userRepository.existsByUsername("bob"))).isFalse();
+      assertThat(userRepository.findByUsername("carol")).isEmpty();
+    });
+    assertThat(filterBinder.withoutDataScope(() -> userRepository.existsByUsername("carol"))).isTrue();
+  }
+
+  @Test
+  void existingDepartmentIdsRespectTenantAndDataScope() {
+    Long sales = departmentRepository.save(department("sales", companyA)).getId();
+    Long finance = departmentRepository.save(department("finance", companyA)).getId();
+    Long other = departmentRepository.save(department("other", companyB)).getId();
+    tenantAware.setCurrentTenantId(companyA);
+    UserDetailsImpl principal = new UserDetailsImpl(aliceId, "alice", "", true, companyA, List.of(),
+        new DataScopeFilter(false, Set.of(sales), aliceId));
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+    assertThat(departmentRepository.findExistingIds(List.of(sales, finance, other, -1L)))
+        .containsExactly(sales);
+  }
+
+  private Company company(String code) {
+    Company company = new Company();
+    company.setName(code);
+    company.setCode(code);
+    return company;
+  }
+
+  private Department department(String name, Long companyId) {
+    Department department = new Department();
+    department.setName(name);
+    department.setCompanyId(companyId);
+    return department;
+  }
+
+  private User user(String username, Long companyId) {
+    User user = new User();
+    user.setUsername(username);
+    user.setPassword("{noop}secret");
+    user.setCompanyId(companyId);
+    return user;
+  }
+}
@@ -0,0 +1,40 @@
+package com.xcesys.template.admin.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Metamodel;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 主键生成器初始化测试：多个节点同时在空号段表上启动时，插入冲突的节点改为推进起始值
+ */
+class IdGeneratorInitializerTest {
+
+  @Test
+  void advancesSegmentWhenAnotherNodeInsertedItFirst() {
+    Metamodel metamodel = mock(Metamodel.class);
+    when(metamodel.getEntities()).thenReturn(Set.of());
+    EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    when(entityManagerFactory.getMetamodel()).thenReturn(metamodel);
+    JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*)"), eq(Integer.class), any(Object[].class)))
+        .thenReturn(0);
+    when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class)))
+        .thenThrow(new DuplicateKeyException("duplicate segment"));
+
+    new IdGeneratorInitializer(entityManagerFactory, jdbcTemplate).afterSingletonsInstantiated();
+
+    verify(jdbcTemplate, times(2)).update(startsWith("UPDATE"), any(Object[].class));
+  }
+}
@@ -0,0 +1,50 @@
+package com.xcesys.template.admin.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 数据库结构升级测试：在没有新增表和基础数据的已有数据库上补建，且可重复执行
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:upgrade;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.sql.init.mode=always",
+    "spring.sql.init.schema-locations=classpath:db/legacy-schema.sql",
+    "spring.sql.init.encoding=UTF-8"
+})
+@Import(SchemaUpgradeInitializer.class)
+class SchemaUpgradeInitializerTest {
+
+  @Autowired
+  private SchemaUpgradeInitializer schemaUpgradeInitializer;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void createsMissingTablesAndCanRunAgain() {
+    // 启动时已执行过一次
+    schemaUpgradeInitializer.afterPropertiesSet();
+
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_department_closure", Integer.class))
+        .isZero();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_id_generator", Integer.class))
+        .isZero();
+    assertThat(jdbcTemplate.queryForList("SELECT id FROM sys_permission WHERE code = 'system:monitor:metrics'",
+        Long.class)).containsExactly(8L);
+    assertThat(jdbcTemplate.queryForList("SELECT role_id FROM sys_role_permission WHERE permission_id = 8",
+        Long.class)).containsExactly(1L);
+  }
+}
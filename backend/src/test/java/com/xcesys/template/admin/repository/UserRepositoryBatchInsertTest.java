@@ -0,0 +1,58 @@
+package com.xcesys.template.admin.repository;
+
+import com.xcesys.template.admin.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 批量插入测试：表生成器预分配ID后，用户按batch_size合并为JDBC批量插入
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class UserRepositoryBatchInsertTest {
+
+  private static final int USERS = 500;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void insertsUsersInJdbcBatches() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    List<User> users = IntStream.range(0, USERS).mapToObj(this::user).toList();
+    userRepository.saveAll(users);
+    entityManager.flush();
+
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(USERS);
+    // 每批一次预编译（500 / 50 = 10），另加号段分配的查询和更新；逐行插入时至少需要500次
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(USERS / 10);
+  }
+
+  private User user(int i) {
+    User user = new User();
+    user.setUsername("user" + i);
+    user.setPassword("{noop}secret");
+    return user;
+  }
+}
@@ -0,0 +1,43 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.repository.PermissionRepository;
+import com.xcesys.template.admin.repository.RelationRepository;
+import com.xcesys.template.admin.repository.RoleRepository;
+import com.xcesys.template.admin.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 内存授权引擎测试
+ */
+class AuthorizationEngineTest {
+
+  private AuthorizationEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    engine = new AuthorizationEngine(mock(PermissionRepository.class), mock(RoleRepository.class),
+        mock(UserRepository.class), mock(RelationRepository.class));
+  }
+
+  @Test
+  void emptyRequirementIsMetWhenAllRequired() {
+    assertThat(engine.hasPermission(1L, List.of(), true)).isTrue();
+  }
+
+  @Test
+  void emptyRequirementIsNotMetWhenAnyRequired() {
+    assertThat(engine.hasPermission(1L, List.of(), false)).isFalse();
+  }
+
+  @Test
+  void unknownUserHasNoPermission() {
+    assertThat(engine.hasPermission(1L, List.of("system:user:list"), true)).isFalse();
+    assertThat(engine.hasPermission(1L, List.of("system:user:list"), false)).isFalse();
+  }
+}
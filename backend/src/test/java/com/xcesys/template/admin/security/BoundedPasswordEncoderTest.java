@@ -0,0 +1,62 @@
+package com.xcesys.template.admin.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 有界密码编码器测试：批量编码不占用登录哈希线程和等待队列
+ */
+class BoundedPasswordEncoderTest {
+
+  private final Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+
+  private BoundedPasswordEncoder encoder;
+
+  @BeforeEach
+  void setUp() {
+    PasswordEncoder delegate = new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        hashingThreads.add(Thread.currentThread().getName());
+        return "hash:" + rawPassword;
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encode(rawPassword).equals(encodedPassword);
+      }
+    };
+    encoder = new BoundedPasswordEncoder(delegate, 1, 1, 1000, 2, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    encoder.close();
+  }
+
+  @Test
+  void encodeAllKeepsOrderAndBypassesLoginExecutor() {
+    var passwords = IntStream.range(0, 500).mapToObj(i -> "secret" + i).toList();
+
+    var encoded = encoder.encodeAll(passwords);
+
+    assertThat(encoded).containsExactlyElementsOf(passwords.stream().map(p -> "hash:" + p).toList());
+    assertThat(hashingThreads).noneMatch(name -> name.matches("password-hash-\\d+"));
+    assertThat(encoder.getRejectedCount()).isZero();
+  }
+
+  @Test
+  void singleEncodeUsesLoginExecutor() {
+    assertThat(encoder.encode("secret")).isEqualTo("hash:secret");
+    assertThat(hashingThreads).containsExactly("password-hash-1");
+  }
+}
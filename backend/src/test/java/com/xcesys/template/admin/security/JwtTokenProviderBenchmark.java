@@ -0,0 +1,75 @@
+package com.xcesys.template.admin.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌解析基准测试：旧实现每次调用都重新生成签名密钥和解析器，且过滤器先验证再解析，每个请求解析两次；
+ * 新实现共享启动时创建的解析器，每个请求解析一次。所有可用线程并发执行
+ * <p>
+ * 运行：mvn -P benchmark test-compile exec:exec -Dbenchmark=JwtTokenProviderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(Threads.MAX)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtTokenProviderBenchmark {
+
+  private static final String SECRET = "M9WrJnHxVJF7Fpx2JFkpY8TgPGNsJyMH8fZpTkXmYgB7DrAbC5";
+
+  private JwtTokenProvider jwtTokenProvider;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtTokenProvider = new JwtTokenProvider(null, null, null);
+    ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+    ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 900L);
+    jwtTokenProvider.init();
+    token = jwtTokenProvider.createToken(1L, "alice", 1L);
+  }
+
+  /**
+   * 旧实现：validateToken和getAuthentication各自生成密钥、构建解析器并验证签名
+   */
+  @Benchmark
+  public Claims oldPath() {
+    oldParse(token);
+    return oldParse(token);
+  }
+
+  /**
+   * 新实现：共享解析器验证一次，返回类型化的声明
+   */
+  @Benchmark
+  public JwtClaims newPath() {
+    return jwtTokenProvider.parse(token);
+  }
+
+  private static Claims oldParse(String token) {
+    return Jwts.parserBuilder()
+        .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+        .build()
+        .parseClaimsJws(token)
+        .getBody();
+  }
+}
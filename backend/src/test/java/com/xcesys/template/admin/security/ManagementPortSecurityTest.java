@@ -0,0 +1,70 @@
+package com.xcesys.template.admin.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 管理端口测试：Prometheus指标只在独立的管理端口上免令牌开放，业务端口上不可访问；连接占用时长按直方图导出
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
+    properties = "management.health.redis.enabled=false")
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ManagementPortSecurityTest {
+
+  private static final int SERVER_PORT = TestSocketUtils.findAvailableTcpPort();
+  private static final int MANAGEMENT_PORT = TestSocketUtils.findAvailableTcpPort();
+
+  private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+  @DynamicPropertySource
+  static void ports(DynamicPropertyRegistry registry) {
+    registry.add("server.port", () -> SERVER_PORT);
+    registry.add("management.server.port", () -> MANAGEMENT_PORT);
+  }
+
+  @Test
+  void prometheusIsScrapableOnManagementPortWithoutToken() {
+    ResponseEntity<String> response = restTemplate.getForEntity(
+        "http://127.0.0.1:" + MANAGEMENT_PORT + "/actuator/prometheus", String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).contains("jvm_memory_used_bytes");
+  }
+
+  @Test
+  void exportsConnectionHoldTimeHistogram() {
+    String body = restTemplate.getForObject(
+        "http://127.0.0.1:" + MANAGEMENT_PORT + "/actuator/prometheus", String.class);
+
+    assertThat(body).contains("hikaricp_connections_usage_seconds_bucket");
+    assertThat(body.lines()).anyMatch(line -> line.startsWith("hikaricp_connections_usage_seconds{")
+        && line.contains("quantile=\"0.95\""));
+  }
+
+  @Test
+  void prometheusIsNotServedOnApplicationPort() {
+    ResponseEntity<String> response = restTemplate.getForEntity(
+        "http://127.0.0.1:" + SERVER_PORT + "/api/actuator/prometheus", String.class);
+
+    assertThat(response.getStatusCode()).isNotEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void healthStaysPublicOnManagementPort() {
+    ResponseEntity<String> response = restTemplate.getForEntity(
+        "http://127.0.0.1:" + MANAGEMENT_PORT + "/actuator/health", String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+}
@@ -0,0 +1,139 @@
+package com.xcesys.template.admin.security;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 基于嵌入式Redis的令牌撤销列表测试：两个节点共享同一个Redis
+ */
+class RedisTokenRevocationListTest {
+
+  private static final Date EXPIRATION = new Date(System.currentTimeMillis() + 3_600_000);
+
+  private static RedisServer redisServer;
+  private static LettuceConnectionFactory connectionFactory;
+  private static StringRedisTemplate redisTemplate;
+
+  private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+
+  private JwtTokenCache cacheA;
+  private JwtTokenCache cacheB;
+  private RedisTokenRevocationList nodeA;
+  private RedisTokenRevocationList nodeB;
+
+  @BeforeAll
+  static void startRedis() throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    redisServer = new RedisServer(port);
+    redisServer.start();
+    connectionFactory = new LettuceConnectionFactory("localhost", port);
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    redisTemplate = new StringRedisTemplate(connectionFactory);
+  }
+
+  @AfterAll
+  static void stopRedis() throws IOException {
+    connectionFactory.destroy();
+    redisServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate.execute(connection -> {
+      connection.serverCommands().flushAll();
+      return null;
+    }, true);
+    cacheA = tokenCache();
+    cacheB = tokenCache();
+    nodeA = node(cacheA);
+    nodeB = node(cacheB);
+  }
+
+  @AfterEach
+  void tearDown() {
+    containers.forEach(RedisMessageListenerContainer::stop);
+  }
+
+  @Test
+  void revocationReachesOtherNodeAndEvictsItsCache() {
+    cacheB.put("jwt-1", authentication(), "token-1", 0, EXPIRATION);
+
+    nodeA.revoke("token-1", EXPIRATION);
+
+    assertThat(nodeA.isRevoked("token-1")).isTrue();
+    await().atMost(Duration.ofSeconds(5)).until(() -> nodeB.isRevoked("token-1") && cacheB.size() == 0);
+    assertThat(nodeB.isRevoked("token-2")).isFalse();
+  }
+
+  @Test
+  void cachedTokenIsRejectedWhenRevocationNoticeIsMissed() {
+    cacheB.put("jwt-1", authentication(), "token-1", 0, EXPIRATION);
+    assertThat(cacheB.get("jwt-1", nodeB::isRevoked)).isNotNull();
+
+    // 直接写入Redis模拟丢失的撤销通知，节点B的缓存条目仍然存在
+    redisTemplate.opsForValue().set("jwt:revoked:token-1", "1", Duration.ofHours(1));
+    nodeB.rebuild();
+
+    assertThat(cacheB.size()).isEqualTo(1);
+    assertThat(cacheB.get("jwt-1", nodeB::isRevoked)).isNull();
+  }
+
+  @Test
+  void restartedNodeLoadsRevokedTokensFromRedis() {
+    nodeA.revoke("token-1", EXPIRATION);
+
+    RedisTokenRevocationList restarted = node(tokenCache());
+
+    assertThat(restarted.isRevoked("token-1")).isTrue();
+    assertThat(restarted.isRevoked("token-2")).isFalse();
+  }
+
+  private RedisTokenRevocationList node(JwtTokenCache jwtTokenCache) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.afterPropertiesSet();
+    containers.add(container);
+    RedisTokenRevocationList node = new RedisTokenRevocationList(redisTemplate, jwtTokenCache, container);
+    ReflectionTestUtils.setField(node, "expectedInsertions", 1000L);
+    ReflectionTestUtils.setField(node, "falsePositiveRate", 0.01);
+    container.start();
+    node.rebuild();
+    return node;
+  }
+
+  private static JwtTokenCache tokenCache() {
+    JwtTokenCache cache = new JwtTokenCache(mock(AuthorizationEngine.class));
+    ReflectionTestUtils.setField(cache, "maxSize", 100);
+    return cache;
+  }
+
+  private static Authentication authentication() {
+    UserDetailsImpl principal = new UserDetailsImpl(1L, "alice", "", true, null, List.of());
+    return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+  }
+}
@@ -0,0 +1,85 @@
+package com.xcesys.template.admin.security;
+
+import com.xcesys.template.admin.entity.Permission;
+import com.xcesys.template.admin.entity.Role;
+import com.xcesys.template.admin.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 登录用户加载测试：用户、角色和角色权限在一条SQL中加载
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(UserDetailsServiceImpl.class)
+class UserDetailsServiceImplTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private UserDetailsServiceImpl userDetailsService;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    Role admin = role("admin", permission("system:user:list"), permission("system:user:add"));
+    Role auditor = role("auditor", permission("system:log:list"));
+
+    User user = new User();
+    user.setUsername("alice");
+    user.setPassword("{noop}secret");
+    user.setRoles(Set.of(admin, auditor));
+    entityManager.persist(user);
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void loadsUserRolesAndPermissionsWithOneStatement() {
+    UserDetails userDetails = userDetailsService.loadUserByUsername("alice");
+
+    assertThat(userDetails.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+        .contains("ROLE_admin", "ROLE_auditor", "admin", "system:user:list", "system:user:add", "system:log:list");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  private Role role(String code, Permission... permissions) {
+    Role role = new Role();
+    role.setName(code);
+    role.setCode(code);
+    role.setPermissions(Set.of(permissions));
+    return entityManager.persist(role);
+  }
+
+  private Permission permission(String code) {
+    Permission permission = new Permission();
+    permission.setName(code);
+    permission.setCode(code);
+    permission.setType(1);
+    return entityManager.persist(permission);
+  }
+}
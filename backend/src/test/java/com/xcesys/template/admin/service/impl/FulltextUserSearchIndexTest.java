@@ -0,0 +1,88 @@
+package com.xcesys.template.admin.service.impl;
+
+import com.xcesys.template.admin.entity.Company;
+import com.xcesys.template.admin.entity.User;
+import com.xcesys.template.admin.security.TenantAware;
+import com.xcesys.template.admin.security.TenantAwareImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 全文检索租户隔离测试：不依赖Hibernate租户过滤器，查询本身只返回当前租户的用户
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({FulltextUserSearchIndex.class, TenantAwareImpl.class})
+class FulltextUserSearchIndexTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private FulltextUserSearchIndex searchIndex;
+
+  @Autowired
+  private TenantAware tenantAware;
+
+  private Long companyA;
+
+  @BeforeEach
+  void setUp() {
+    companyA = entityManager.persist(company("a")).getId();
+    Long companyB = entityManager.persist(company("b")).getId();
+    entityManager.persist(user("alice_a", companyA));
+    entityManager.persist(user("alice_b", companyB));
+    entityManager.flush();
+    entityManager.clear();
+    ReflectionTestUtils.setField(searchIndex, "indexAvailable", true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    tenantAware.clear();
+  }
+
+  @Test
+  void searchReturnsOnlyCurrentTenantUsers() {
+    tenantAware.setCurrentTenantId(companyA);
+
+    assertThat(searchIndex.search("alice", PageRequest.of(0, 10)))
+        .extracting(User::getUsername)
+        .containsExactly("alice_a");
+  }
+
+  @Test
+  void searchWithoutTenantReturnsAllTenants() {
+    assertThat(searchIndex.search("alice", PageRequest.of(0, 10)))
+        .extracting(User::getUsername)
+        .containsExactlyInAnyOrder("alice_a", "alice_b");
+  }
+
+  private Company company(String code) {
+    Company company = new Company();
+    company.setName(code);
+    company.setCode(code);
+    return company;
+  }
+
+  private User user(String username, Long companyId) {
+    User user = new User();
+    user.setUsername(username);
+    user.setNickname("alice");
+    user.setPassword("{noop}secret");
+    user.setCompanyId(companyId);
+    return user;
+  }
+}
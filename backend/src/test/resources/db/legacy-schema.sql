@@ -0,0 +1,8 @@
+-- 升级测试使用的已有数据库：只有早期版本的角色权限表，缺少后续版本新增的表和基础数据
+CREATE TABLE sys_role (id BIGINT PRIMARY KEY, code VARCHAR(50) NOT NULL UNIQUE);
+CREATE TABLE sys_permission (id BIGINT PRIMARY KEY, name VARCHAR(50) NOT NULL, code VARCHAR(100) NOT NULL UNIQUE,
+    type INTEGER, enabled BOOLEAN, create_time DATETIME NOT NULL, update_time DATETIME);
+CREATE TABLE sys_role_permission (role_id BIGINT, permission_id BIGINT, PRIMARY KEY (role_id, permission_id));
+
+INSERT INTO sys_role (id, code) VALUES (1, 'admin'), (2, 'user');
+INSERT INTO sys_permission (id, name, code, create_time) VALUES (7, '用户查询', 'system:user:list', NOW());
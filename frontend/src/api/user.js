@@ -18,12 +18,14 @@ export function login(data) {
 
 /**
  * 用户注销
+ * @param {String} refreshToken - 刷新令牌，一并撤销
  * @returns {Promise} Promise对象
  */
-export function logout() {
+export function logout(refreshToken) {
   return request({
     url: '/auth/logout',
-    method: 'post'
+    method: 'post',
+    data: refreshToken ? { refreshToken } : undefined
   })
 }
 
@@ -1,6 +1,6 @@
 // src/store/user.js
 import { defineStore } from 'pinia'
-import { getToken, setToken, removeToken } from '@/utils/auth'
+import { getToken, setToken, removeToken, getRefreshToken, setRefreshToken } from '@/utils/auth'
 import { login, logout, getUserInfo } from '@/api/user'
 import { generateAsyncRoutes } from '../router'
 import { ElMessage } from 'element-plus'
@@ -32,8 +32,9 @@ export const useUserStore = defineStore('user', {
       const { username, password } = userInfo
       try {
         const response = await login({ username: username.trim(), password })
-        const { token } = response.data
+        const { token, refreshToken } = response.data
         setToken(token)
+        setRefreshToken(refreshToken)
         this.token = token
         return Promise.resolve()
       } catch (error) {
@@ -93,7 +94,7 @@ export const useUserStore = defineStore('user', {
     // 登出
     async logout() {
       try {
-        await logout()
+        await logout(getRefreshToken())
       } catch (error) {
         console.error('注销时发生错误', error)
       } finally {
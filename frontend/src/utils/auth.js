@@ -2,6 +2,7 @@
 import Cookies from 'js-cookie'
 
 const TOKEN_KEY = 'auth_token'
+const REFRESH_TOKEN_KEY = 'auth_refresh_token'
 const TOKEN_EXPIRES_DAYS = 7
 
 /**
@@ -24,9 +25,26 @@ export function setToken(token) {
  * 移除Token
  */
 export function removeToken() {
+  Cookies.remove(REFRESH_TOKEN_KEY)
   return Cookies.remove(TOKEN_KEY)
 }
 
+/**
+ * 获取刷新Token
+ * @returns {String} 刷新token值
+ */
+export function getRefreshToken() {
+  return Cookies.get(REFRESH_TOKEN_KEY)
+}
+
+/**
+ * 设置刷新Token
+ * @param {String} refreshToken - 刷新token值
+ */
+export function setRefreshToken(refreshToken) {
+  return Cookies.set(REFRESH_TOKEN_KEY, refreshToken, { expires: TOKEN_EXPIRES_DAYS })
+}
+
 /**
  * 检查权限
  * @param {Array} permissions - 当前用户的权限列表
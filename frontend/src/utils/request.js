@@ -1,7 +1,7 @@
 // src/utils/request.js
 import axios from 'axios'
 import { ElMessage, ElMessageBox } from 'element-plus'
-import { getToken } from './auth'
+import { getToken, setToken, getRefreshToken, setRefreshToken } from './auth'
 import { useUserStore } from '@/store/user'
 
 // 创建axios实例
@@ -10,6 +10,30 @@ const service = axios.create({
   timeout: 60000 // 请求超时时间
 })
 
+// 正在进行的令牌刷新，并发的401请求共用同一次刷新
+let refreshing = null
+
+// 使用刷新令牌换取新的访问令牌
+function refreshAccessToken() {
+  if (!refreshing) {
+    refreshing = axios.post(`${service.defaults.baseURL}/auth/refresh`, { refreshToken: getRefreshToken() })
+      .then(({ data: res }) => {
+        if (res.code !== 200) {
+          return Promise.reject(new Error(res.message || '刷新令牌失败'))
+        }
+        const { token, refreshToken } = res.data
+        setToken(token)
+        setRefreshToken(refreshToken)
+        useUserStore().token = token
+        return token
+      })
+      .finally(() => {
+        refreshing = null
+      })
+  }
+  return refreshing
+}
+
 // 请求拦截器
 service.interceptors.request.use(
   config => {
@@ -62,7 +86,21 @@ service.interceptors.response.use(
   },
   // 处理错误响应
   error => {
-    const { response } = error
+    const { response, config } = error
+
+    // 访问令牌过期时使用刷新令牌换取新令牌并重试一次
+    if (response && response.status === 401 && config && !config._retried && getRefreshToken()) {
+      config._retried = true
+      return refreshAccessToken()
+        .then(token => {
+          config.headers['Authorization'] = `Bearer ${token}`
+          return service(config)
+        })
+        .catch(() => {
+          handleUnauthorized()
+          return Promise.reject(error)
+        })
+    }
     
     if (response) {
       // 根据HTTP状态码处理